@@ -0,0 +1,61 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the {@link ConsoleInterface} over a {@link ProductCatalogCache} instead of calling the
+ * provider on every interaction. The list is refreshed in the background every
+ * {@code console.refresh-seconds}, and product details are prefetched as soon as the list is
+ * loaded.
+ */
+@Component
+@ConditionalOnProperty(name = "consumer.mode", havingValue = "async-console")
+public class AsyncConsoleInterface implements CommandLineRunner {
+
+    private final ProductService productService;
+    private final long refreshSeconds;
+    private final int prefetchThreads;
+    private final int prefetchQueueSize;
+
+    @Autowired
+    AsyncConsoleInterface(ProductService productService,
+                          @Value("${console.refresh-seconds:10}") long refreshSeconds,
+                          @Value("${console.prefetch-threads:4}") int prefetchThreads,
+                          @Value("${console.prefetch-queue-size:64}") int prefetchQueueSize) {
+        this.productService = productService;
+        this.refreshSeconds = refreshSeconds;
+        this.prefetchThreads = prefetchThreads;
+        this.prefetchQueueSize = prefetchQueueSize;
+    }
+
+    @Override
+    public void run(String... args) {
+        ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (ProductCatalogCache catalog = new ProductCatalogCache(productService, prefetchThreads, prefetchQueueSize)) {
+            catalog.refresh();
+            refresher.scheduleWithFixedDelay(() -> {
+                try {
+                    catalog.refresh();
+                } catch (RuntimeException e) {
+                    // Keep showing the last snapshot until the provider is reachable again
+                }
+            }, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+
+            new ConsoleInterface(catalog).run(args);
+        } finally {
+            refresher.shutdownNow();
+        }
+    }
+}
@@ -2,22 +2,30 @@ package au.com.dius.pactworkshop.consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.IntStream;
 
 @Component
+@ConditionalOnProperty(name = "consumer.mode", havingValue = "console", matchIfMissing = true)
 public class ConsoleInterface implements CommandLineRunner {
 
-    private final ProductService productService;
+    private final ProductSource productSource;
 
     private List<Product> products;
 
     @Autowired
     ConsoleInterface(ProductService productService) {
-        this.productService = productService;
+        this(ProductSource.of(productService));
+    }
+
+    ConsoleInterface(ProductSource productSource) {
+        this.productSource = productSource;
     }
 
     @Override
@@ -35,7 +43,7 @@ public class ConsoleInterface implements CommandLineRunner {
     }
 
     private void printAllProducts() {
-        products = productService.getAllProducts();
+        products = productSource.products();
         System.out.println("\n\nProducts\n--------");
         IntStream.range(0, products.size())
                 .forEach(index -> System.out.println(String.format("%d) %s", index + 1, products.get(index).getName())));
@@ -49,14 +57,18 @@ public class ConsoleInterface implements CommandLineRunner {
 
     private void printProduct(int index) {
         String id = products.get(index - 1).getId();
+        CompletableFuture<Product> details = productSource.product(id);
+        if (!details.isDone()) {
+            System.out.println("Loading product " + id + "...");
+        }
         try {
-            Product product = productService.getProduct(id);
+            Product product = details.join();
 
             System.out.println("Product Details\n---------------");
             System.out.println(product);
-        } catch (Exception e) {
+        } catch (CompletionException e) {
             System.out.println("Failed to load product " + id);
-            System.out.println(e.getMessage());
+            System.out.println(e.getCause().getMessage());
         }
     }
 
@@ -0,0 +1,46 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+public class HttpProductService implements ProductService {
+
+    private final RestTemplate restTemplate;
+
+    public HttpProductService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return restTemplate.exchange("/products",
+                HttpMethod.GET,
+                getRequestEntity(),
+                new ParameterizedTypeReference<List<Product>>(){}).getBody();
+    }
+
+    @Override
+    public Product getProduct(String id) {
+        return restTemplate.exchange("/product/{id}",
+                HttpMethod.GET,
+                getRequestEntity(),
+                Product.class, id).getBody();
+    }
+
+    private HttpEntity<String> getRequestEntity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.AUTHORIZATION, generateAuthToken());
+        return new HttpEntity<>(headers);
+    }
+
+    static String generateAuthToken() {
+        return "Bearer " +  new SimpleDateFormat("yyyy-MM-dd'T'HH:mm").format(new Date());
+    }
+}
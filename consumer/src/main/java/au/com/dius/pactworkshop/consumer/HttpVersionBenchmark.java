@@ -0,0 +1,199 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Compares HTTP/1.1 with HTTP/2 between the consumer and provider. Each operation fans out
+ * {@code benchmark.fanout} parallel {@code getProduct} calls, and the run reports the peak number
+ * of connections the provider saw alongside the latency percentiles for each protocol.
+ *
+ * <p>Connections are sampled from each provider's {@code /diagnostics/connections} over a separate
+ * HTTP/1.1 client so the sampling does not add to the load under test. Before each run the benchmark waits up to {@code benchmark.drain-timeout-seconds}
+ * for connections kept alive by the previous run to close, then records a baseline; the peak is
+ * reported relative to it.
+ */
+@Component
+@ConditionalOnProperty(name = "consumer.mode", havingValue = "http-benchmark")
+public class HttpVersionBenchmark implements CommandLineRunner {
+
+    private final int port;
+    private final String nodes;
+    private final int virtualNodes;
+    private final double rate;
+    private final long durationSeconds;
+    private final int threads;
+    private final int fanOut;
+    private final long drainTimeoutSeconds;
+
+    @Autowired
+    HttpVersionBenchmark(@Value("${provider.port:8085}") int port,
+                         @Value("${provider.nodes:}") String nodes,
+                         @Value("${provider.virtual-nodes:100}") int virtualNodes,
+                         @Value("${loadgen.rate:100}") double rate,
+                         @Value("${loadgen.duration-seconds:30}") long durationSeconds,
+                         @Value("${loadgen.threads:64}") int threads,
+                         @Value("${benchmark.fanout:10}") int fanOut,
+                         @Value("${benchmark.drain-timeout-seconds:90}") long drainTimeoutSeconds) {
+        this.port = port;
+        this.nodes = nodes;
+        this.virtualNodes = virtualNodes;
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        this.threads = threads;
+        this.fanOut = fanOut;
+        this.drainTimeoutSeconds = drainTimeoutSeconds;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        List<String> results = new ArrayList<>();
+        List<RestTemplate> connectionSamplers = connectionSamplers();
+        long idleConnections = openConnections(connectionSamplers);
+        for (HttpClient.Version version : HttpClient.Version.values()) {
+            long baseline = awaitDrained(connectionSamplers, idleConnections);
+            System.out.println(String.format("%n%s: %.1f ops/s x %d requests for %ds (baseline %d connections)...",
+                    version, rate, fanOut, durationSeconds, baseline));
+            ProductService productService = ProductServiceConfig.productService(port, nodes, virtualNodes, version);
+            try {
+                results.add(benchmark(version, productService, connectionSamplers, baseline));
+            } finally {
+                close(productService);
+            }
+        }
+
+        System.out.println(String.format("%n%-10s %16s %12s %12s %10s", "Protocol", "Peak connections", "p50 (µs)", "p99 (µs)", "Ops/s"));
+        results.forEach(System.out::println);
+    }
+
+    /**
+     * Waits for the provider's connection count to fall back to {@code idleConnections}, since
+     * connections the previous run kept alive would otherwise be counted against the next one.
+     * Returns the count the next run starts from.
+     */
+    private long awaitDrained(List<RestTemplate> connectionSamplers, long idleConnections) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainTimeoutSeconds);
+        long open = openConnections(connectionSamplers);
+        while (open > idleConnections && System.nanoTime() < deadline) {
+            Thread.sleep(500);
+            open = openConnections(connectionSamplers);
+        }
+        if (open > idleConnections) {
+            System.out.println(String.format("%d connections from the previous run are still open, measuring above them", open - idleConnections));
+        }
+        return open;
+    }
+
+    private String benchmark(HttpClient.Version version, ProductService productService,
+                             List<RestTemplate> connectionSamplers, long baseline) throws InterruptedException {
+        List<String> ids = productService.getAllProducts().stream().map(Product::getId).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No products to benchmark against");
+        }
+
+        AtomicLong peakConnections = new AtomicLong(-1);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> peakConnections.accumulateAndGet(openConnections(connectionSamplers), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+        ExecutorService fanOutExecutor = Executors.newFixedThreadPool(threads * fanOut);
+        LoadReport report;
+        try {
+            report = new OpenModelLoad(rate, durationSeconds, threads).run(() -> () -> {
+                List<CompletableFuture<Product>> calls = new ArrayList<>(fanOut);
+                for (int i = 0; i < fanOut; i++) {
+                    String id = ids.get(i % ids.size());
+                    calls.add(CompletableFuture.supplyAsync(() -> productService.getProduct(id), fanOutExecutor));
+                }
+                CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+            });
+        } finally {
+            sampler.shutdownNow();
+            fanOutExecutor.shutdownNow();
+        }
+        report.print(System.out);
+
+        long peakAboveBaseline = peakConnections.get() < 0 || baseline < 0 ? -1 : peakConnections.get() - baseline;
+        return String.format("%-10s %16d %12.0f %12.0f %10.1f", version, peakAboveBaseline,
+                report.getLatency().getValueAtPercentile(50) / 1000.0,
+                report.getLatency().getValueAtPercentile(99) / 1000.0,
+                report.getThroughput());
+    }
+
+    /**
+     * One client per provider node, all sharing a single HTTP/1.1 connection pool.
+     */
+    private List<RestTemplate> connectionSamplers() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> providerNodes = Arrays.asList(StringUtils.tokenizeToStringArray(nodes, ","));
+        if (providerNodes.isEmpty()) {
+            providerNodes = List.of(String.format("localhost:%d", port));
+        }
+        return providerNodes.stream()
+                .map(node -> ProductServiceConfig.productRestTemplate(node, httpClient))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the connections open across all provider nodes, or -1 if any node does not report them.
+     */
+    private static long openConnections(List<RestTemplate> connectionSamplers) {
+        long total = 0;
+        for (RestTemplate connectionSampler : connectionSamplers) {
+            long open = openConnections(connectionSampler);
+            if (open < 0) {
+                return -1;
+            }
+            total += open;
+        }
+        return total;
+    }
+
+    private static long openConnections(RestTemplate connectionSampler) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.AUTHORIZATION, HttpProductService.generateAuthToken());
+        try {
+            Map<String, Long> connections = connectionSampler.exchange("/diagnostics/connections",
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<Map<String, Long>>(){}).getBody();
+            return connections != null ? connections.getOrDefault("open", -1L) : -1;
+        } catch (RuntimeException e) {
+            // Provider does not report connections
+            return -1;
+        }
+    }
+
+    private static void close(ProductService productService) throws Exception {
+        if (productService instanceof AutoCloseable) {
+            ((AutoCloseable) productService).close();
+        }
+    }
+}
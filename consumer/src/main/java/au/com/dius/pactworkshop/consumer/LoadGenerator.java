@@ -0,0 +1,118 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Non-interactive alternative to the {@link ConsoleInterface} which drives the provider through
+ * {@link ProductService} at a fixed request rate using an {@link OpenModelLoad}.
+ *
+ * <p>Requests either replay a log of request paths ({@code loadgen.replay-file}, one
+ * {@code /products} or {@code /product/{id}} per line) or pick product ids from a Zipf
+ * distribution over the catalog.
+ */
+@Component
+@ConditionalOnProperty(name = "consumer.mode", havingValue = "loadgen")
+public class LoadGenerator implements CommandLineRunner {
+
+    private final ProductService productService;
+    private final double rate;
+    private final long durationSeconds;
+    private final int threads;
+    private final String replayFile;
+    private final String productIds;
+    private final double zipfExponent;
+    private final String histogramFile;
+
+    @Autowired
+    LoadGenerator(ProductService productService,
+                  @Value("${loadgen.rate:100}") double rate,
+                  @Value("${loadgen.duration-seconds:30}") long durationSeconds,
+                  @Value("${loadgen.threads:64}") int threads,
+                  @Value("${loadgen.replay-file:}") String replayFile,
+                  @Value("${loadgen.ids:}") String productIds,
+                  @Value("${loadgen.zipf-exponent:1.0}") double zipfExponent,
+                  @Value("${loadgen.histogram-file:}") String histogramFile) {
+        this.productService = productService;
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        this.threads = threads;
+        this.replayFile = replayFile;
+        this.productIds = productIds;
+        this.zipfExponent = zipfExponent;
+        this.histogramFile = histogramFile;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Supplier<Runnable> requests = replayFile.isEmpty()
+                ? zipfianRequests()
+                : replayedRequests(Paths.get(replayFile), productService);
+
+        System.out.println(String.format("Generating %.1f req/s for %ds...", rate, durationSeconds));
+        LoadReport report = new OpenModelLoad(rate, durationSeconds, threads).run(requests);
+        report.print(System.out);
+
+        if (!histogramFile.isEmpty()) {
+            try (PrintStream out = new PrintStream(histogramFile)) {
+                report.printHistogram(out);
+            }
+        }
+    }
+
+    private Supplier<Runnable> zipfianRequests() {
+        List<String> ids = productIds.isEmpty()
+                ? productService.getAllProducts().stream().map(Product::getId).collect(Collectors.toList())
+                : Arrays.asList(StringUtils.tokenizeToStringArray(productIds, ","));
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No product ids to generate load for");
+        }
+        ZipfianGenerator generator = new ZipfianGenerator(ids.size(), zipfExponent);
+        return () -> {
+            String id = ids.get(generator.next());
+            return () -> productService.getProduct(id);
+        };
+    }
+
+    /**
+     * Reads a replay file into a supplier that cycles through its requests in order. Blank lines
+     * and lines starting with {@code #} are skipped.
+     */
+    static Supplier<Runnable> replayedRequests(Path replayFile, ProductService productService) throws IOException {
+        List<Runnable> requests = new ArrayList<>();
+        for (String line : Files.readAllLines(replayFile)) {
+            String path = line.trim();
+            if (path.isEmpty() || path.startsWith("#")) {
+                continue;
+            }
+            if (path.equals("/products")) {
+                requests.add(productService::getAllProducts);
+            } else if (path.startsWith("/product/")) {
+                String id = path.substring("/product/".length());
+                requests.add(() -> productService.getProduct(id));
+            } else {
+                throw new IllegalArgumentException("Unsupported request in replay file: " + line);
+            }
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalStateException("Replay file " + replayFile + " has no requests");
+        }
+        int[] next = {0};
+        return () -> requests.get(next[0]++ % requests.size());
+    }
+}
@@ -0,0 +1,76 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of a load generation run. Latency is measured from the time each request was
+ * scheduled to start, so queueing behind slow requests is included rather than hidden.
+ * The latency and service time histograms only hold successful requests; failures are
+ * kept in their own histogram.
+ */
+public class LoadReport {
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final Histogram latency;
+    private final Histogram serviceTime;
+    private final Histogram errors;
+    private final long elapsedNanos;
+    private final double targetRate;
+
+    LoadReport(Histogram latency, Histogram serviceTime, Histogram errors, long elapsedNanos, double targetRate) {
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.targetRate = targetRate;
+    }
+
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    public Histogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getErrors() {
+        return errors.getTotalCount();
+    }
+
+    public Histogram getErrorLatency() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return latency.getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public void print(PrintStream out) {
+        out.println(String.format("Requests: %d, errors: %d, elapsed: %.1fs",
+                latency.getTotalCount(), getErrors(), elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        out.println(String.format("Throughput: %.1f req/s (target %.1f req/s)", getThroughput(), targetRate));
+        printPercentiles(out, "Latency (µs)", latency);
+        printPercentiles(out, "Service time (µs)", serviceTime);
+        if (getErrors() > 0) {
+            printPercentiles(out, "Errors (µs)", errors);
+        }
+    }
+
+    public void printHistogram(PrintStream out) {
+        latency.outputPercentileDistribution(out, NANOS_PER_MICRO);
+    }
+
+    private static void printPercentiles(PrintStream out, String title, Histogram histogram) {
+        out.println(String.format("%-18s p50=%.0f p90=%.0f p99=%.0f p99.9=%.0f max=%.0f",
+                title,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO,
+                histogram.getMaxValue() / NANOS_PER_MICRO));
+    }
+}
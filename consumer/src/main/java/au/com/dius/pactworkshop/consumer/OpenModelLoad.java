@@ -0,0 +1,65 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Starts requests on a fixed schedule whether or not earlier ones have finished (an open model),
+ * and measures latency from the scheduled start. A slow provider therefore cannot hide its
+ * queueing delay by slowing the generator down. Failed requests are recorded apart from the
+ * successful ones, so fast failures cannot make the latency look better than it is.
+ */
+public class OpenModelLoad {
+
+    private final double rate;
+    private final long durationSeconds;
+    private final int threads;
+
+    public OpenModelLoad(double rate, long durationSeconds, int threads) {
+        this.rate = rate;
+        this.durationSeconds = durationSeconds;
+        this.threads = threads;
+    }
+
+    public LoadReport run(Supplier<Runnable> requests) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = (long) (rate * durationSeconds);
+        Recorder latency = new Recorder(3);
+        Recorder serviceTime = new Recorder(3);
+        Recorder errors = new Recorder(3);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long scheduled = start + i * intervalNanos;
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Runnable request = requests.get();
+            executor.execute(() -> {
+                long began = System.nanoTime();
+                try {
+                    request.run();
+                } catch (RuntimeException e) {
+                    errors.recordValue(System.nanoTime() - scheduled);
+                    return;
+                }
+                long finished = System.nanoTime();
+                latency.recordValue(finished - scheduled);
+                serviceTime.recordValue(finished - began);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.HOURS);
+        long elapsed = System.nanoTime() - start;
+
+        return new LoadReport(latency.getIntervalHistogram(), serviceTime.getIntervalHistogram(),
+                errors.getIntervalHistogram(), elapsed, rate);
+    }
+}
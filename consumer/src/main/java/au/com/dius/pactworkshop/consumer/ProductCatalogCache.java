@@ -0,0 +1,94 @@
+package au.com.dius.pactworkshop.consumer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local snapshot of the product catalog. Each refresh replaces the product list and starts
+ * fetching the details of every listed product in the background on a bounded executor, so
+ * that by the time a product is picked its details are usually already here. Details are kept
+ * until the product changes or disappears from the list, and failed fetches are retried on the
+ * next refresh.
+ */
+public class ProductCatalogCache implements ProductSource, AutoCloseable {
+
+    private final ProductService productService;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, CompletableFuture<Product>> details = new ConcurrentHashMap<>();
+    private volatile List<Product> products = Collections.emptyList();
+
+    public ProductCatalogCache(ProductService productService, int threads, int queueSize) {
+        this.productService = productService;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "product-prefetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public List<Product> refresh() {
+        List<Product> latest = productService.getAllProducts();
+        Map<String, Product> previous = products.stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity(), (first, second) -> first));
+        Set<String> ids = latest.stream().map(Product::getId).collect(Collectors.toSet());
+
+        details.keySet().retainAll(ids);
+        details.values().removeIf(CompletableFuture::isCompletedExceptionally);
+        latest.stream()
+                .filter(product -> !product.equals(previous.get(product.getId())))
+                .forEach(product -> details.remove(product.getId()));
+        products = latest;
+
+        latest.forEach(product -> prefetch(product.getId()));
+        return latest;
+    }
+
+    @Override
+    public List<Product> products() {
+        return products;
+    }
+
+    /**
+     * Returns the product details, completed immediately if they have already been prefetched.
+     */
+    @Override
+    public CompletableFuture<Product> product(String id) {
+        CompletableFuture<Product> product = prefetch(id);
+        if (product != null) {
+            return product;
+        }
+        // The prefetch queue is full, so fetch on the caller's thread instead
+        try {
+            return CompletableFuture.completedFuture(productService.getProduct(id));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Product> prefetch(String id) {
+        return details.computeIfAbsent(id, key -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> productService.getProduct(key), executor);
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+        });
+    }
+}
@@ -1,48 +1,10 @@
 package au.com.dius.pactworkshop.consumer;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 
-@Service
-public class ProductService {
-
-    private final RestTemplate restTemplate;
-
-    @Autowired
-    public ProductService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
-    }
-
-    public List<Product> getAllProducts() {
-        return restTemplate.exchange("/products",
-                HttpMethod.GET,
-                getRequestEntity(),
-                new ParameterizedTypeReference<List<Product>>(){}).getBody();
-    }
-
-    public Product getProduct(String id) {
-        return restTemplate.exchange("/product/{id}",
-                HttpMethod.GET,
-                getRequestEntity(),
-                Product.class, id).getBody();
-    }
+public interface ProductService {
 
-    private HttpEntity<String> getRequestEntity() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.AUTHORIZATION, generateAuthToken());
-        return new HttpEntity<>(headers);
-    }
+    List<Product> getAllProducts();
 
-    private String generateAuthToken() {
-        return "Bearer " +  new SimpleDateFormat("yyyy-MM-dd'T'HH:mm").format(new Date());
-    }
+    Product getProduct(String id);
 }
@@ -1,16 +1,47 @@
 package au.com.dius.pactworkshop.consumer;
 
+import au.com.dius.pactworkshop.shard.NodeProbes;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
 @Configuration
 public class ProductServiceConfig {
 
     @Bean
-    RestTemplate productRestTemplate(@Value("${provider.port:8085}") int port) {
-        return new RestTemplateBuilder().rootUri(String.format("http://localhost:%d", port)).build();
+    ProductService productService(@Value("${provider.port:8085}") int port,
+                                  @Value("${provider.nodes:}") String nodes,
+                                  @Value("${provider.virtual-nodes:100}") int virtualNodes,
+                                  @Value("${provider.http-version:HTTP_2}") HttpClient.Version httpVersion) {
+        return productService(port, nodes, virtualNodes, httpVersion);
+    }
+
+    static ProductService productService(int port, String nodes, int virtualNodes, HttpClient.Version httpVersion) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> shardNodes = Arrays.asList(StringUtils.tokenizeToStringArray(nodes, ","));
+        if (shardNodes.isEmpty()) {
+            return new HttpProductService(productRestTemplate(String.format("localhost:%d", port), httpClient));
+        }
+        return new ShardedProductService(shardNodes, virtualNodes,
+                node -> new HttpProductService(productRestTemplate(node, httpClient)),
+                NodeProbes.tcpProbe(500), 3, 2000);
+    }
+
+    static RestTemplate productRestTemplate(String node, HttpClient httpClient) {
+        return new RestTemplateBuilder()
+                .rootUri(String.format("http://%s", node))
+                .requestFactory(() -> new Http2ClientHttpRequestFactory(httpClient))
+                .build();
     }
 }
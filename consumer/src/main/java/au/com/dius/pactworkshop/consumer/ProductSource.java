@@ -0,0 +1,33 @@
+package au.com.dius.pactworkshop.consumer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where the {@link ConsoleInterface} gets the products it shows, either straight from the
+ * {@link ProductService} or from a {@link ProductCatalogCache}.
+ */
+interface ProductSource {
+
+    List<Product> products();
+
+    CompletableFuture<Product> product(String id);
+
+    static ProductSource of(ProductService productService) {
+        return new ProductSource() {
+            @Override
+            public List<Product> products() {
+                return productService.getAllProducts();
+            }
+
+            @Override
+            public CompletableFuture<Product> product(String id) {
+                try {
+                    return CompletableFuture.completedFuture(productService.getProduct(id));
+                } catch (RuntimeException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+        };
+    }
+}
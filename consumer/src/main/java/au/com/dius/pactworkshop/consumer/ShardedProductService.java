@@ -0,0 +1,194 @@
+package au.com.dius.pactworkshop.consumer;
+
+import au.com.dius.pactworkshop.shard.ConsistentHashRing;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Product client for a catalog that is sharded across several provider nodes. Single product
+ * lookups go straight to the node owning the id, and the full list is merged from every node
+ * in parallel.
+ *
+ * <p>The configured nodes are probed periodically. A node is only taken out of the ring after
+ * {@code failureThreshold} consecutive failed probes or requests, and is put back as soon as a
+ * probe succeeds again. Providers probe each other on their own schedule, so for a while after
+ * a node joins or leaves a product may still live on a node this client no longer considers its
+ * owner. A product the owner does not have is therefore looked up on the other nodes, and when
+ * merging the full list the owner's copy of a product wins over any other.
+ */
+public class ShardedProductService implements ProductService, AutoCloseable {
+
+    private final List<String> configuredNodes;
+    private final ConsistentHashRing ring;
+    private final Function<String, ProductService> clientFactory;
+    private final Predicate<String> probe;
+    private final int failureThreshold;
+    private final Map<String, ProductService> clients = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService prober;
+
+    public ShardedProductService(List<String> nodes,
+                                 int virtualNodes,
+                                 Function<String, ProductService> clientFactory,
+                                 Predicate<String> probe,
+                                 int failureThreshold,
+                                 long probeIntervalMillis) {
+        this.configuredNodes = new ArrayList<>(nodes);
+        this.ring = new ConsistentHashRing(virtualNodes);
+        this.clientFactory = clientFactory;
+        this.probe = probe;
+        this.failureThreshold = failureThreshold;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, nodes.size()), daemon("product-shard-client"));
+        this.prober = Executors.newSingleThreadScheduledExecutor(daemon("product-shard-probe"));
+        nodes.forEach(node -> failures.put(node, new AtomicInteger()));
+        ring.setNodes(nodes);
+        if (probeIntervalMillis > 0) {
+            prober.scheduleWithFixedDelay(this::probeNodes, probeIntervalMillis, probeIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        while (true) {
+            List<String> nodes = ring.nodes();
+            List<CompletableFuture<List<Product>>> shards = new ArrayList<>();
+            for (String node : nodes) {
+                shards.add(CompletableFuture.supplyAsync(() -> client(node).getAllProducts(), executor));
+            }
+
+            Map<String, Product> products = new LinkedHashMap<>();
+            boolean evicted = false;
+            for (int i = 0; i < shards.size(); i++) {
+                String node = nodes.get(i);
+                try {
+                    shards.get(i).join().forEach(product -> {
+                        if (node.equals(ring.nodeFor(product.getId()))) {
+                            products.put(product.getId(), product);
+                        } else {
+                            products.putIfAbsent(product.getId(), product);
+                        }
+                    });
+                } catch (CompletionException e) {
+                    if (!(e.getCause() instanceof ResourceAccessException) || !recordFailure(node)) {
+                        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                    }
+                    evicted = true;
+                }
+            }
+            if (!evicted) {
+                List<Product> merged = new ArrayList<>(products.values());
+                merged.sort(Comparator.comparing(Product::getId));
+                return merged;
+            }
+        }
+    }
+
+    @Override
+    public Product getProduct(String id) {
+        while (true) {
+            String node = ownerOf(id);
+            try {
+                Product product = client(node).getProduct(id);
+                failures.get(node).set(0);
+                return product;
+            } catch (HttpClientErrorException.NotFound e) {
+                return findOnOtherNodes(id, node, e);
+            } catch (ResourceAccessException e) {
+                if (!recordFailure(node)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Probes every configured node, taking failing nodes out of the ring and putting
+     * recovered or newly started ones back in.
+     */
+    public void probeNodes() {
+        for (String node : configuredNodes) {
+            if (probe.test(node)) {
+                failures.get(node).set(0);
+                ring.addNode(node);
+            } else {
+                recordFailure(node);
+            }
+        }
+    }
+
+    public List<String> nodes() {
+        return ring.nodes();
+    }
+
+    @Override
+    public void close() {
+        prober.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Counts a failure against the node and returns whether it is now out of the ring.
+     */
+    private boolean recordFailure(String node) {
+        if (failures.get(node).incrementAndGet() >= failureThreshold) {
+            ring.removeNode(node);
+        }
+        return !ring.contains(node);
+    }
+
+    /**
+     * Looks for a product its owner does not have on the remaining nodes, in case it was stored
+     * before the ring last changed. Rethrows the owner's 404 if no node has it.
+     */
+    private Product findOnOtherNodes(String id, String owner, HttpClientErrorException.NotFound notFound) {
+        for (String node : ring.nodes()) {
+            if (node.equals(owner)) {
+                continue;
+            }
+            try {
+                return client(node).getProduct(id);
+            } catch (HttpClientErrorException.NotFound | ResourceAccessException e) {
+                // Not on this node either, or it is unreachable; keep looking
+            }
+        }
+        throw notFound;
+    }
+
+    private String ownerOf(String id) {
+        String node = ring.nodeFor(id);
+        if (node == null) {
+            throw new IllegalStateException("No product service nodes available");
+        }
+        return node;
+    }
+
+    private ProductService client(String node) {
+        return clients.computeIfAbsent(node, clientFactory);
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package au.com.dius.pactworkshop.consumer;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks item indexes in {@code [0, items)} following a Zipf distribution, so that a few items
+ * receive most of the traffic the way popular products do in production.
+ */
+public class ZipfianGenerator {
+
+    private final double[] cumulative;
+
+    public ZipfianGenerator(int items, double exponent) {
+        if (items <= 0) {
+            throw new IllegalArgumentException("items must be positive");
+        }
+        cumulative = new double[items];
+        double total = 0;
+        for (int rank = 1; rank <= items; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < items; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public int next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
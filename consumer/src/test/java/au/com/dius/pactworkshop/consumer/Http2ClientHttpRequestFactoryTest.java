@@ -0,0 +1,91 @@
+package au.com.dius.pactworkshop.consumer;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Http2ClientHttpRequestFactoryTest {
+
+    private WireMockServer wireMockServer;
+    private Http2ClientHttpRequestFactory requestFactory;
+
+    @BeforeEach
+    void setUp() {
+        wireMockServer = new WireMockServer(options().dynamicPort());
+
+        wireMockServer.start();
+
+        requestFactory = new Http2ClientHttpRequestFactory(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void cleartextRequestsAreUpgradedToHttp2() throws Exception {
+        wireMockServer.stubFor(get(urlPathEqualTo("/product/10"))
+                .willReturn(aResponse().withStatus(200).withBody("28 Degrees")));
+
+        // The first request may be the HTTP/1.1 upgrade, the ones after it reuse the h2c connection
+        for (int i = 0; i < 2; i++) {
+            ClientHttpRequest request = requestFactory.createRequest(
+                    URI.create(wireMockServer.baseUrl() + "/product/10"), HttpMethod.GET);
+            try (ClientHttpResponse response = request.execute()) {
+                assertEquals(200, response.getStatusCode().value());
+                assertEquals("28 Degrees", StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+            }
+        }
+
+        List<String> protocols = wireMockServer.findAll(getRequestedFor(urlPathEqualTo("/product/10"))).stream()
+                .map(LoggedRequest::getProtocol)
+                .collect(Collectors.toList());
+        assertEquals(2, protocols.size());
+        assertTrue(protocols.contains("HTTP/2.0"), "Expected an HTTP/2 request but got " + protocols);
+    }
+
+    @Test
+    void headersManagedByTheClientAreNotCopiedOntoTheRequest() throws Exception {
+        wireMockServer.stubFor(put(urlPathEqualTo("/product/10"))
+                .willReturn(aResponse().withStatus(204)));
+
+        ClientHttpRequest request = requestFactory.createRequest(
+                URI.create(wireMockServer.baseUrl() + "/product/10"), HttpMethod.PUT);
+        request.getHeaders().set(HttpHeaders.CONNECTION, "keep-alive");
+        request.getHeaders().set(HttpHeaders.AUTHORIZATION, "Bearer token");
+        request.getBody().write("{\"id\":\"10\"}".getBytes(StandardCharsets.UTF_8));
+        try (ClientHttpResponse response = request.execute()) {
+            assertEquals(204, response.getStatusCode().value());
+        }
+
+        wireMockServer.verify(putRequestedFor(urlPathEqualTo("/product/10"))
+                .withHeader(HttpHeaders.AUTHORIZATION, equalTo("Bearer token"))
+                .withRequestBody(equalTo("{\"id\":\"10\"}")));
+    }
+}
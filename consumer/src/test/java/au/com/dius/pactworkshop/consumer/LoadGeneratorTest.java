@@ -0,0 +1,69 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class LoadGeneratorTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductService productService = mock(ProductService.class);
+
+    @Test
+    void replayFileRequestsAreIssuedInOrderAndRepeated() throws Exception {
+        Path replayFile = write("# captured from the access log", "/products", "", "  /product/10  ", "/product/09");
+
+        Supplier<Runnable> requests = LoadGenerator.replayedRequests(replayFile, productService);
+        verifyNoInteractions(productService);
+        for (int i = 0; i < 4; i++) {
+            requests.get().run();
+        }
+
+        InOrder order = inOrder(productService);
+        order.verify(productService).getAllProducts();
+        order.verify(productService).getProduct("10");
+        order.verify(productService).getProduct("09");
+        order.verify(productService).getAllProducts();
+        verify(productService, times(2)).getAllProducts();
+    }
+
+    @Test
+    void unsupportedRequestsAreRejected() throws Exception {
+        Path replayFile = write("/products", "POST /product/10");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> LoadGenerator.replayedRequests(replayFile, productService));
+
+        assertEquals("Unsupported request in replay file: POST /product/10", e.getMessage());
+    }
+
+    @Test
+    void replayFileWithoutRequestsIsRejected() throws Exception {
+        Path replayFile = write("# nothing to replay", "");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> LoadGenerator.replayedRequests(replayFile, productService));
+
+        assertTrue(e.getMessage().endsWith("has no requests"));
+    }
+
+    private Path write(String... lines) throws Exception {
+        return Files.write(directory.resolve("requests.txt"), Arrays.asList(lines));
+    }
+}
@@ -0,0 +1,50 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenModelLoadTest {
+
+    @Test
+    void latencyIncludesTimeQueuedBehindSlowRequests() throws Exception {
+        // One thread taking 20ms per request can serve 50 req/s, so at 100 req/s the backlog grows
+        // by about 10ms per request and the last of them start roughly a second behind schedule
+        LoadReport report = new OpenModelLoad(100, 1, 1).run(() -> () -> sleep(20));
+
+        assertEquals(100, report.getLatency().getTotalCount());
+        assertEquals(0, report.getErrors());
+        assertTrue(report.getServiceTime().getValueAtPercentile(50) < TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(report.getLatency().getMaxValue() > TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(report.getThroughput() < 75);
+    }
+
+    @Test
+    void failedRequestsAreRecordedApartFromSuccessfulOnes() throws Exception {
+        int[] sent = {0};
+        LoadReport report = new OpenModelLoad(200, 1, 4).run(() -> {
+            boolean fail = sent[0]++ % 4 == 0;
+            return () -> {
+                if (fail) {
+                    throw new IllegalStateException("provider unavailable");
+                }
+            };
+        });
+
+        assertEquals(50, report.getErrors());
+        assertEquals(50, report.getErrorLatency().getTotalCount());
+        assertEquals(150, report.getLatency().getTotalCount());
+        assertEquals(150, report.getServiceTime().getTotalCount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
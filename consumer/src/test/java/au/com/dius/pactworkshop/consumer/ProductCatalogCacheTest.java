@@ -0,0 +1,63 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductCatalogCacheTest {
+
+    private final Product gemVisa = new Product("09", "CREDIT_CARD", "Gem Visa", "v1");
+    private final Product twentyEightDegrees = new Product("10", "CREDIT_CARD", "28 Degrees", "v1");
+
+    private ProductService productService;
+    private ProductCatalogCache catalog;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        when(productService.getAllProducts()).thenReturn(Arrays.asList(gemVisa, twentyEightDegrees));
+        when(productService.getProduct("09")).thenReturn(gemVisa);
+        when(productService.getProduct("10")).thenReturn(twentyEightDegrees);
+
+        catalog = new ProductCatalogCache(productService, 2, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.close();
+    }
+
+    @Test
+    void refreshPrefetchesTheDetailsOfEveryListedProduct() throws Exception {
+        catalog.refresh();
+
+        verify(productService, timeout(5000)).getProduct("09");
+        verify(productService, timeout(5000)).getProduct("10");
+        assertEquals(twentyEightDegrees, catalog.product("10").get(5, TimeUnit.SECONDS));
+        verify(productService, times(1)).getProduct("10");
+    }
+
+    @Test
+    void changedProductsAreFetchedAgainOnRefresh() throws Exception {
+        catalog.refresh();
+        assertEquals(twentyEightDegrees, catalog.product("10").get(5, TimeUnit.SECONDS));
+
+        Product updated = new Product("10", "CREDIT_CARD", "28 Degrees", "v2");
+        when(productService.getAllProducts()).thenReturn(Arrays.asList(gemVisa, updated));
+        when(productService.getProduct("10")).thenReturn(updated);
+        catalog.refresh();
+
+        assertEquals(updated, catalog.product("10").get(5, TimeUnit.SECONDS));
+        verify(productService, times(1)).getProduct("09");
+    }
+}
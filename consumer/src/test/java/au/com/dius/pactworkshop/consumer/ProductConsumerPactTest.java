@@ -124,7 +124,7 @@ public class ProductConsumerPactTest {
         RestTemplate restTemplate = new RestTemplateBuilder()
                 .rootUri(mockServer.getUrl())
                 .build();
-        List<Product> products = new ProductService(restTemplate).getAllProducts();
+        List<Product> products = new HttpProductService(restTemplate).getAllProducts();
 
         assertEquals(expected, products);
     }
@@ -135,7 +135,7 @@ public class ProductConsumerPactTest {
         RestTemplate restTemplate = new RestTemplateBuilder()
                 .rootUri(mockServer.getUrl())
                 .build();
-        List<Product> products = new ProductService(restTemplate).getAllProducts();
+        List<Product> products = new HttpProductService(restTemplate).getAllProducts();
 
         assertEquals(Collections.emptyList(), products);
     }
@@ -148,7 +148,7 @@ public class ProductConsumerPactTest {
                 .build();
 
         HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
-                () -> new ProductService(restTemplate).getAllProducts());
+                () -> new HttpProductService(restTemplate).getAllProducts());
         assertEquals(401, e.getStatusCode().value());
     }
 
@@ -163,7 +163,7 @@ public class ProductConsumerPactTest {
         RestTemplate restTemplate = new RestTemplateBuilder()
                 .rootUri(mockServer.getUrl())
                 .build();
-        Product product = new ProductService(restTemplate).getProduct("10");
+        Product product = new HttpProductService(restTemplate).getProduct("10");
 
         assertEquals(expected, product);
     }
@@ -176,7 +176,7 @@ public class ProductConsumerPactTest {
                 .build();
 
         HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
-                () -> new ProductService(restTemplate).getProduct("11"));
+                () -> new HttpProductService(restTemplate).getProduct("11"));
         assertEquals(404, e.getStatusCode().value());
     }
 
@@ -188,7 +188,7 @@ public class ProductConsumerPactTest {
                 .build();
 
         HttpClientErrorException e = assertThrows(HttpClientErrorException.class,
-                () -> new ProductService(restTemplate).getProduct("10"));
+                () -> new HttpProductService(restTemplate).getProduct("10"));
         assertEquals(401, e.getStatusCode().value());
     }
 
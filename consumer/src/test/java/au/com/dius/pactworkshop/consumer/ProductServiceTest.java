@@ -31,7 +31,7 @@ class ProductServiceTest {
                 .rootUri(wireMockServer.baseUrl())
                 .build();
 
-        productService = new ProductService(restTemplate);
+        productService = new HttpProductService(restTemplate);
     }
 
     @AfterEach
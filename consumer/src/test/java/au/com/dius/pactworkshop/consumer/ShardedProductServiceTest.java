@@ -0,0 +1,171 @@
+package au.com.dius.pactworkshop.consumer;
+
+import au.com.dius.pactworkshop.shard.ConsistentHashRing;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedProductServiceTest {
+
+    private final List<WireMockServer> providers = new ArrayList<>();
+    private final Set<String> unreachable = ConcurrentHashMap.newKeySet();
+    private Map<String, WireMockServer> providersByNode;
+    private ShardedProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            WireMockServer provider = new WireMockServer(options().dynamicPort());
+            provider.start();
+            providers.add(provider);
+        }
+        providersByNode = providers.stream()
+                .collect(Collectors.toMap(provider -> "localhost:" + provider.port(), Function.identity()));
+
+        productService = new ShardedProductService(new ArrayList<>(providersByNode.keySet()), 100,
+                node -> new HttpProductService(new RestTemplateBuilder().rootUri("http://" + node).build()),
+                node -> !unreachable.contains(node), 3, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productService.close();
+        providers.forEach(WireMockServer::stop);
+    }
+
+    @Test
+    void getProductIsRoutedToTheOwningNode() {
+        WireMockServer owner = providersByNode.get(ownerOf("50", providersByNode.keySet()));
+        owner.stubFor(get(urlPathEqualTo("/product/50")).willReturn(product("50")));
+
+        Product product = productService.getProduct("50");
+
+        assertEquals(new Product("50", "CREDIT_CARD", "Card 50", "v1"), product);
+        for (WireMockServer provider : providers) {
+            provider.verify(provider == owner ? 1 : 0, getRequestedFor(urlPathEqualTo("/product/50")));
+        }
+    }
+
+    @Test
+    void getAllProductsMergesEveryShard() {
+        for (int i = 0; i < providers.size(); i++) {
+            providers.get(i).stubFor(get(urlPathEqualTo("/products"))
+                    .willReturn(aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("[{\"id\":\"" + i + "\",\"type\":\"CREDIT_CARD\",\"name\":\"Card " + i + "\",\"version\":\"v1\"}]")));
+        }
+
+        List<Product> products = productService.getAllProducts();
+
+        assertEquals(Arrays.asList(
+                new Product("0", "CREDIT_CARD", "Card 0", "v1"),
+                new Product("1", "CREDIT_CARD", "Card 1", "v1"),
+                new Product("2", "CREDIT_CARD", "Card 2", "v1")), products);
+    }
+
+    @Test
+    void getAllProductsPrefersTheOwningNodesCopy() {
+        String ownerNode = ownerOf("50", providersByNode.keySet());
+        providersByNode.forEach((node, provider) -> provider.stubFor(get(urlPathEqualTo("/products"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"id\":\"50\",\"type\":\"CREDIT_CARD\",\"name\":\"Card 50\",\"version\":\""
+                                + (node.equals(ownerNode) ? "owner" : "stale") + "\"}]"))));
+
+        List<Product> products = productService.getAllProducts();
+
+        assertEquals(List.of(new Product("50", "CREDIT_CARD", "Card 50", "owner")), products);
+    }
+
+    @Test
+    void productsTheOwnerDoesNotHaveAreLookedUpOnTheOtherNodes() {
+        List<String> others = new ArrayList<>(providersByNode.keySet());
+        others.remove(ownerOf("50", providersByNode.keySet()));
+        providersByNode.get(others.get(0)).stubFor(get(urlPathEqualTo("/product/50")).willReturn(product("50")));
+
+        assertEquals(new Product("50", "CREDIT_CARD", "Card 50", "v1"), productService.getProduct("50"));
+        assertThrows(HttpClientErrorException.NotFound.class, () -> productService.getProduct("51"));
+    }
+
+    @Test
+    void aSingleFailedRequestDoesNotEvictTheNode() {
+        String ownerNode = ownerOf("50", providersByNode.keySet());
+        providersByNode.get(ownerNode).stop();
+
+        assertThrows(ResourceAccessException.class, () -> productService.getProduct("50"));
+
+        assertTrue(productService.nodes().contains(ownerNode));
+    }
+
+    @Test
+    void repeatedFailuresMoveTheNodesProductsToTheNextOwner() {
+        String ownerNode = ownerOf("50", providersByNode.keySet());
+        List<String> remaining = new ArrayList<>(providersByNode.keySet());
+        remaining.remove(ownerNode);
+        providersByNode.get(ownerNode).stop();
+        providersByNode.get(ownerOf("50", remaining)).stubFor(get(urlPathEqualTo("/product/50")).willReturn(product("50")));
+
+        assertThrows(ResourceAccessException.class, () -> productService.getProduct("50"));
+        assertThrows(ResourceAccessException.class, () -> productService.getProduct("50"));
+        Product product = productService.getProduct("50");
+
+        assertEquals(new Product("50", "CREDIT_CARD", "Card 50", "v1"), product);
+        assertFalse(productService.nodes().contains(ownerNode));
+    }
+
+    @Test
+    void nodesLeaveAfterFailedProbesAndRejoinWhenTheyRecover() {
+        String node = providersByNode.keySet().iterator().next();
+        unreachable.add(node);
+
+        productService.probeNodes();
+        productService.probeNodes();
+        assertTrue(productService.nodes().contains(node));
+        productService.probeNodes();
+        assertFalse(productService.nodes().contains(node));
+
+        unreachable.remove(node);
+        productService.probeNodes();
+        assertTrue(productService.nodes().contains(node));
+    }
+
+    private static String ownerOf(String id, Collection<String> nodes) {
+        ConsistentHashRing ring = new ConsistentHashRing(100);
+        ring.setNodes(nodes);
+        return ring.nodeFor(id);
+    }
+
+    private static ResponseDefinitionBuilder product(String id) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody("{\"id\":\"" + id + "\",\"type\":\"CREDIT_CARD\",\"name\":\"Card " + id + "\",\"version\":\"v1\"}");
+    }
+}
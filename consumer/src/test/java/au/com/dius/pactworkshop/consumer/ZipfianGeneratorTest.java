@@ -0,0 +1,23 @@
+package au.com.dius.pactworkshop.consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipfianGeneratorTest {
+
+    @Test
+    void lowerRanksAreChosenMoreOften() {
+        ZipfianGenerator generator = new ZipfianGenerator(10, 1.0);
+        int[] counts = new int[10];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.next()]++;
+        }
+
+        assertTrue(counts[0] > counts[1]);
+        assertTrue(counts[1] > counts[9]);
+        // With exponent 1 the first of 10 items gets 1 / H(10), about 34% of the picks
+        assertTrue(counts[0] > 30_000 && counts[0] < 38_000);
+    }
+}
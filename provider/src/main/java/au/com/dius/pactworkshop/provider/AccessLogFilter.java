@@ -0,0 +1,45 @@
+package au.com.dius.pactworkshop.provider;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter implements Filter {
+
+    private final AccessLogWriter accessLogWriter;
+
+    @Autowired
+    AccessLogFilter(AccessLogWriter accessLogWriter) {
+        this.accessLogWriter = accessLogWriter;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            HttpServletRequest httpRequest = (HttpServletRequest) request;
+            Object authOutcome = httpRequest.getAttribute(AuthFilter.AUTH_OUTCOME);
+            accessLogWriter.log(new AccessLogRecord(System.currentTimeMillis(),
+                    httpRequest.getRemoteAddr(),
+                    httpRequest.getMethod(),
+                    httpRequest.getRequestURI(),
+                    ((HttpServletResponse) response).getStatus(),
+                    System.nanoTime() - start,
+                    authOutcome != null ? authOutcome.toString() : "-"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package au.com.dius.pactworkshop.provider;
+
+/**
+ * One completed request, as captured on the request thread. Formatting is left to the
+ * {@link AccessLogWriter} so that building a record stays cheap.
+ */
+public class AccessLogRecord {
+
+    private final long timestampMillis;
+    private final String client;
+    private final String method;
+    private final String path;
+    private final int status;
+    private final long latencyNanos;
+    private final String authOutcome;
+
+    public AccessLogRecord(long timestampMillis,
+                           String client,
+                           String method,
+                           String path,
+                           int status,
+                           long latencyNanos,
+                           String authOutcome) {
+        this.timestampMillis = timestampMillis;
+        this.client = client;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.latencyNanos = latencyNanos;
+        this.authOutcome = authOutcome;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public String getAuthOutcome() {
+        return authOutcome;
+    }
+}
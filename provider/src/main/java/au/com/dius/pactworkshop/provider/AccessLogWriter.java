@@ -0,0 +1,217 @@
+package au.com.dius.pactworkshop.provider;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes access log records to a file from a background thread. Request threads only put records
+ * into an {@link AccessLogRingBuffer}; this writer drains them in batches, formats them into a
+ * single buffer and writes it with one call, rolling the file over once it reaches the size limit
+ * ({@code access.log} becomes {@code access.log.1}, and so on up to {@code access-log.max-files}).
+ * A failed write or rotation is logged and counted; the writer reopens the file and keeps going,
+ * so the batch in flight is lost but later records are still written.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final int MAX_LINE_BYTES = 1024;
+
+    private final AccessLogRingBuffer ringBuffer;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int batchSize;
+    private final ByteBuffer buffer;
+    private final StringBuilder line = new StringBuilder(256);
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile String lastError;
+    private FileChannel channel;
+    private long fileBytes;
+    private int batched;
+    private Thread thread;
+
+    @Autowired
+    AccessLogWriter(@Value("${access-log.path:logs/access.log}") String path,
+                    @Value("${access-log.buffer-size:65536}") int bufferSize,
+                    @Value("${access-log.max-file-bytes:10485760}") long maxFileBytes,
+                    @Value("${access-log.max-files:5}") int maxFiles,
+                    @Value("${access-log.batch-size:512}") int batchSize) {
+        this.ringBuffer = new AccessLogRingBuffer(bufferSize);
+        this.file = Paths.get(path);
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.batchSize = batchSize;
+        this.buffer = ByteBuffer.allocateDirect(batchSize * MAX_LINE_BYTES);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        open();
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+    }
+
+    /**
+     * Queues the record for writing. Never blocks: if the writer has fallen behind and the
+     * buffer is full, the record is dropped and counted.
+     */
+    public boolean log(AccessLogRecord record) {
+        return ringBuffer.offer(record);
+    }
+
+    public long written() {
+        return written.get();
+    }
+
+    public long dropped() {
+        return ringBuffer.dropped();
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public String lastError() {
+        return lastError;
+    }
+
+    private void run() {
+        while (running) {
+            if (!drainBatch()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        while (drainBatch()) {
+            // Write out whatever was queued before close()
+        }
+    }
+
+    private boolean drainBatch() {
+        if (ringBuffer.drain(this::append, batchSize) == 0) {
+            return false;
+        }
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            recordError("Failed to write access log " + file, e);
+            buffer.clear();
+            batched = 0;
+            reopen();
+        }
+        return true;
+    }
+
+    private void append(AccessLogRecord record) {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(record.getTimestampMillis())).append(' ')
+                .append(record.getClient()).append(' ')
+                .append(record.getMethod()).append(' ')
+                .append(record.getPath()).append(' ')
+                .append(productId(record.getPath())).append(' ')
+                .append(record.getStatus()).append(' ')
+                .append(TimeUnit.NANOSECONDS.toMicros(record.getLatencyNanos())).append("us ")
+                .append("auth=").append(record.getAuthOutcome()).append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LINE_BYTES) {
+            bytes[MAX_LINE_BYTES - 1] = '\n';
+        }
+        buffer.put(bytes, 0, Math.min(bytes.length, MAX_LINE_BYTES));
+        batched++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileBytes += channel.write(buffer);
+        }
+        buffer.clear();
+        written.addAndGet(batched);
+        batched = 0;
+        if (fileBytes >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = rotated(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private void open() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+    }
+
+    private void reopen() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+            open();
+        } catch (IOException e) {
+            // Left closed; the next batch fails its write and tries again
+            recordError("Failed to reopen access log " + file, e);
+        }
+    }
+
+    private void recordError(String message, Exception e) {
+        errors.incrementAndGet();
+        lastError = message + ": " + e;
+        LOGGER.warn(message, e);
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private static String productId(String path) {
+        return path.startsWith("/product/") ? path.substring("/product/".length()) : "-";
+    }
+}
@@ -17,19 +17,27 @@ import java.util.Date;
 @Component
 public class AuthFilter implements Filter {
 
+    /**
+     * Request attribute recording whether the request was authorised, for the access log.
+     */
+    static final String AUTH_OUTCOME = AuthFilter.class.getName() + ".outcome";
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         String authHeader = ((HttpServletRequest) request).getHeader("Authorization");
         if (authHeader == null) {
+            request.setAttribute(AUTH_OUTCOME, "missing");
             ((HttpServletResponse) response).sendError(401, "Unauthorized");
             return;
         }
         authHeader = authHeader.replaceAll("Bearer ", "");
         if (!isValidAuthTimestamp(authHeader)) {
+            request.setAttribute(AUTH_OUTCOME, "invalid");
             ((HttpServletResponse) response).sendError(401, "Unauthorized");
             return;
         }
 
+        request.setAttribute(AUTH_OUTCOME, "ok");
         chain.doFilter(request, response);
     }
 
@@ -40,7 +48,7 @@ public class AuthFilter implements Filter {
             long diff = (System.currentTimeMillis() - headerDate.getTime()) / 1000;
             return diff >= 0 && diff <= 3600;
         } catch (ParseException e) {
-            e.printStackTrace();
+            // Unparseable tokens are recorded as an invalid auth outcome in the access log
         }
             return false;
     }
@@ -0,0 +1,67 @@
+package au.com.dius.pactworkshop.provider;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency estimator. Estimates never under-count, and over-count by at most
+ * a small fraction of the total number of additions.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counts;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Records one occurrence of the key and returns its updated estimate.
+     */
+    public long add(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.incrementAndGet(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    public long estimate(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter so that keys which were hot a while ago gradually cool down.
+     */
+    public void age() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.updateAndGet(i, count -> count >>> 1);
+        }
+    }
+
+    private int index(int row, int hash) {
+        int rowHash = spread(hash + row * 0x9E3779B9);
+        return row * width + Math.floorMod(rowHash, width);
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class DiagnosticsController {
+
+    private final ProductResponseCache productResponseCache;
+    private final AccessLogWriter accessLogWriter;
+    private final ServletWebServerApplicationContext applicationContext;
+
+    @Autowired
+    DiagnosticsController(ProductResponseCache productResponseCache,
+                          AccessLogWriter accessLogWriter,
+                          ServletWebServerApplicationContext applicationContext) {
+        this.productResponseCache = productResponseCache;
+        this.accessLogWriter = accessLogWriter;
+        this.applicationContext = applicationContext;
+    }
+
+    @GetMapping("diagnostics/hot-products")
+    public Map<String, Long> getHotProducts() {
+        return productResponseCache.hotProducts();
+    }
+
+    /**
+     * Returns the number of client connections currently open to the embedded server,
+     * or -1 when the server does not report it.
+     */
+    @GetMapping("diagnostics/connections")
+    public Map<String, Long> getConnections() {
+        return Collections.singletonMap("open", openConnections());
+    }
+
+    @GetMapping("diagnostics/access-log")
+    public Map<String, Long> getAccessLog() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("written", accessLogWriter.written());
+        stats.put("dropped", accessLogWriter.dropped());
+        stats.put("errors", accessLogWriter.errors());
+        return stats;
+    }
+
+    private long openConnections() {
+        WebServer webServer = applicationContext.getWebServer();
+        if (webServer instanceof TomcatWebServer) {
+            ProtocolHandler protocolHandler = ((TomcatWebServer) webServer).getTomcat().getConnector().getProtocolHandler();
+            if (protocolHandler instanceof AbstractProtocol) {
+                return ((AbstractProtocol<?>) protocolHandler).getConnectionCount();
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,94 @@
+package au.com.dius.pactworkshop.provider;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks the top-K most requested keys using a {@link CountMinSketch}. Counts are halved
+ * every {@code agingInterval} requests so the hot set follows the current traffic.
+ *
+ * <p>Requests for keys already in the hot set only touch the sketch and a concurrent set, so a
+ * single very hot key does not serialise its callers. Changes to the hot set itself are made
+ * under a lock which is only tried, never waited for, on the request path.
+ */
+public class HotKeyTracker {
+
+    private final CountMinSketch sketch = new CountMinSketch(4, 1024);
+    private final Set<String> topKeys = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock admissionLock = new ReentrantLock();
+    private final AtomicLong requests = new AtomicLong();
+    private final int capacity;
+    private final long minimumCount;
+    private final long agingInterval;
+
+    public HotKeyTracker(int capacity, long minimumCount, long agingInterval) {
+        this.capacity = capacity;
+        this.minimumCount = minimumCount;
+        this.agingInterval = agingInterval;
+    }
+
+    /**
+     * Records a request for the key and returns whether it is currently one of the hot keys.
+     */
+    public boolean record(String key) {
+        long estimate = sketch.add(key);
+        if (requests.incrementAndGet() % agingInterval == 0) {
+            age();
+        }
+        if (topKeys.contains(key)) {
+            return true;
+        }
+        if (estimate < minimumCount || !admissionLock.tryLock()) {
+            return false;
+        }
+        try {
+            if (topKeys.size() < capacity) {
+                return topKeys.add(key);
+            }
+            String coldest = coldest();
+            if (sketch.estimate(coldest) < estimate) {
+                topKeys.remove(coldest);
+                return topKeys.add(key);
+            }
+            return false;
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    public boolean isHot(String key) {
+        return topKeys.contains(key);
+    }
+
+    /**
+     * Returns the hot keys and their estimated request counts, hottest first.
+     */
+    public Map<String, Long> hotKeys() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        topKeys.stream()
+                .sorted(Comparator.comparingLong(sketch::estimate).reversed())
+                .forEachOrdered(key -> result.put(key, sketch.estimate(key)));
+        return result;
+    }
+
+    private void age() {
+        admissionLock.lock();
+        try {
+            sketch.age();
+            topKeys.removeIf(key -> sketch.estimate(key) < minimumCount);
+        } finally {
+            admissionLock.unlock();
+        }
+    }
+
+    private String coldest() {
+        return topKeys.stream()
+                .min(Comparator.comparingLong(sketch::estimate))
+                .orElseThrow();
+    }
+}
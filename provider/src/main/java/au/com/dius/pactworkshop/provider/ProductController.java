@@ -1,22 +1,32 @@
 package au.com.dius.pactworkshop.provider;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 public class ProductController {
 
     private final ProductRepository productRepository;
+    private final ProductResponseCache productResponseCache;
+    private final boolean follower;
 
     @Autowired
-    ProductController(ProductRepository productRepository) {
+    ProductController(ProductRepository productRepository,
+                      ProductResponseCache productResponseCache,
+                      @Value("${replication.role:standalone}") String replicationRole) {
         this.productRepository = productRepository;
+        this.productResponseCache = productResponseCache;
+        this.follower = "follower".equals(replicationRole);
     }
 
     @GetMapping("products")
@@ -25,9 +35,24 @@ public class ProductController {
     }
 
     @GetMapping("product/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable("id") String id) {
-        Optional<Product> product = productRepository.getById(id);
+    public ResponseEntity<byte[]> getProductById(@PathVariable("id") String id) {
+        return productResponseCache.get(id, () -> productRepository.getById(id))
+                .map(body -> ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        return ResponseEntity.of(product);
+    @PutMapping("product/{id}")
+    public ResponseEntity<Product> saveProduct(@PathVariable("id") String id, @RequestBody Product product) {
+        if (follower) {
+            // Followers only apply changes shipped by the leader, a local write would diverge from it
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (!productRepository.owns(id)) {
+            // 421 Misdirected Request: the product belongs on the node that owns it, where consumers read it from
+            return ResponseEntity.status(421).build();
+        }
+        product.setId(id);
+        productRepository.save(product);
+        return ResponseEntity.ok(product);
     }
 }
@@ -1,17 +1,37 @@
 package au.com.dius.pactworkshop.provider;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Products stored on this provider node. Ownership decides where products are written, and the
+ * seed catalog is only stored on the nodes that own it, but reads return whatever this node
+ * holds. While the consumer and the providers briefly disagree about membership a request can
+ * reach a node that no longer owns a product it stores, and it should still get the product.
+ */
 @Repository
 public class ProductRepository {
 
-    private final Map<String, Product> PRODUCTS = new HashMap<>();
+    private final Map<String, Product> PRODUCTS = new ConcurrentHashMap<>();
+
+    private final ShardMembership shardMembership;
+    private final ReplicationLog replicationLog;
+    private final ProductResponseCache productResponseCache;
+
+    @Autowired
+    ProductRepository(ShardMembership shardMembership,
+                      ReplicationLog replicationLog,
+                      ProductResponseCache productResponseCache) {
+        this.shardMembership = shardMembership;
+        this.replicationLog = replicationLog;
+        this.productResponseCache = productResponseCache;
+    }
 
     public List<Product> fetchAll() {
         initProducts();
@@ -25,9 +45,49 @@ public class ProductRepository {
         return Optional.ofNullable(PRODUCTS.get(id));
     }
 
+    /**
+     * Returns whether writes for the product belong on this node.
+     */
+    public boolean owns(String id) {
+        return shardMembership.owns(id);
+    }
+
+    /**
+     * Stores the product and appends it to the replication log, so followers receive the change.
+     */
+    public void save(Product product) {
+        synchronized (replicationLog) {
+            PRODUCTS.put(product.getId(), product);
+            replicationLog.append(product);
+        }
+        productResponseCache.invalidate(product.getId());
+    }
+
+    /**
+     * Stores a product received from the replication leader.
+     */
+    public void applyReplicated(Product product) {
+        PRODUCTS.put(product.getId(), product);
+        productResponseCache.invalidate(product.getId());
+    }
+
+    /**
+     * Drops every stored product, leaving only the seed catalog, before re-syncing from a new leader.
+     */
+    public void clear() {
+        PRODUCTS.clear();
+        productResponseCache.invalidateAll();
+    }
+
     private void initProducts() {
-        PRODUCTS.put("09", new Product("09", "CREDIT_CARD", "Gem Visa", "v1"));
-        PRODUCTS.put("10", new Product("10", "CREDIT_CARD", "28 Degrees", "v1"));
-        PRODUCTS.put("11", new Product("11", "PERSONAL_LOAN", "MyFlexiPay", "v2"));
+        seed(new Product("09", "CREDIT_CARD", "Gem Visa", "v1"));
+        seed(new Product("10", "CREDIT_CARD", "28 Degrees", "v1"));
+        seed(new Product("11", "PERSONAL_LOAN", "MyFlexiPay", "v2"));
+    }
+
+    private void seed(Product product) {
+        if (shardMembership.owns(product.getId())) {
+            PRODUCTS.putIfAbsent(product.getId(), product);
+        }
     }
 }
@@ -0,0 +1,133 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serves product responses as pre-serialised JSON. Concurrent lookups for the same id share
+ * a single repository call, and the bytes for the hottest ids are kept for a short TTL.
+ *
+ * <p>Every invalidation moves the product to a new generation. Lookups only share a repository
+ * call with others of the same generation, and a response is only cached if its generation is
+ * still current once it has loaded, so a load that raced with a write cannot cache the old bytes.
+ */
+@Component
+public class ProductResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final long ttlNanos;
+    private final HotKeyTracker hotKeys;
+    private final SingleFlight<String, Optional<byte[]>> singleFlight;
+    private final ConcurrentMap<String, CachedResponse> responses = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong catalogGeneration = new AtomicLong();
+
+    @Autowired
+    ProductResponseCache(ObjectMapper objectMapper,
+                         @Value("${product.cache.ttl-ms:1000}") long ttlMillis,
+                         @Value("${product.cache.top-k:16}") int topK,
+                         @Value("${product.cache.min-requests:2}") long minimumRequests) {
+        this(objectMapper, ttlMillis, topK, minimumRequests, new SingleFlight<>());
+    }
+
+    ProductResponseCache(ObjectMapper objectMapper,
+                         long ttlMillis,
+                         int topK,
+                         long minimumRequests,
+                         SingleFlight<String, Optional<byte[]>> singleFlight) {
+        this.objectMapper = objectMapper;
+        this.singleFlight = singleFlight;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.hotKeys = new HotKeyTracker(topK, minimumRequests, 10_000L);
+    }
+
+    public Optional<byte[]> get(String id, Supplier<Optional<Product>> loader) {
+        boolean hot = hotKeys.record(id);
+        long now = System.nanoTime();
+        if (hot) {
+            CachedResponse cached = responses.get(id);
+            if (cached != null && cached.isFresh(now)) {
+                return Optional.of(cached.body);
+            }
+        }
+
+        String loadGeneration = generation(id);
+        Optional<byte[]> body = singleFlight.execute(id + "@" + loadGeneration, () -> loader.get().map(this::serialise));
+        if (hot && body.isPresent()) {
+            // Checked under the entry's lock, so an invalidation cannot slip in between the check and the put
+            responses.compute(id, (key, cached) -> loadGeneration.equals(generation(key))
+                    ? new CachedResponse(body.get(), now + ttlNanos)
+                    : cached);
+            evictExpired(now);
+        }
+        return body;
+    }
+
+    /**
+     * Drops any cached response for the product, so the next request sees its latest version.
+     * Loads that started before this call will not be cached.
+     */
+    public void invalidate(String id) {
+        responses.compute(id, (key, cached) -> {
+            generations.merge(key, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    /**
+     * Drops every cached response, for when the whole catalog has been replaced.
+     */
+    public void invalidateAll() {
+        catalogGeneration.incrementAndGet();
+        responses.clear();
+    }
+
+    /**
+     * Returns the currently tracked hot product ids with their estimated request counts.
+     */
+    public Map<String, Long> hotProducts() {
+        return hotKeys.hotKeys();
+    }
+
+    private String generation(String id) {
+        return catalogGeneration.get() + "." + generations.getOrDefault(id, 0L);
+    }
+
+    private void evictExpired(long now) {
+        responses.entrySet().removeIf(entry -> !entry.getValue().isFresh(now) || !hotKeys.isHot(entry.getKey()));
+    }
+
+    private byte[] serialise(Product product) {
+        try {
+            return objectMapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class CachedResponse {
+        private final byte[] body;
+        private final long expiresAt;
+
+        CachedResponse(byte[] body, long expiresAt) {
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isFresh(long now) {
+            return now - expiresAt < 0;
+        }
+    }
+}
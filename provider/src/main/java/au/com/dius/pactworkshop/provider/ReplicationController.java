@@ -0,0 +1,26 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+@RestController
+public class ReplicationController {
+
+    private final ObjectProvider<ReplicationNode> replicationNode;
+
+    @Autowired
+    ReplicationController(ObjectProvider<ReplicationNode> replicationNode) {
+        this.replicationNode = replicationNode;
+    }
+
+    @GetMapping("replication/status")
+    public Map<String, Object> getStatus() {
+        ReplicationNode node = replicationNode.getIfAvailable();
+        return node != null ? node.status() : Collections.singletonMap("role", "standalone");
+    }
+}
@@ -0,0 +1,149 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps this provider's {@link ProductRepository} in sync with a leader by applying the batches
+ * it ships and acknowledging each one. Reads are only considered fresh while the follower has
+ * been fully caught up with the leader within the last {@code replication.max-staleness-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class ReplicationFollower implements ReplicationNode {
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final InetSocketAddress leaderAddress;
+    private final long maxStalenessNanos;
+
+    private volatile boolean running;
+    private volatile SocketChannel channel;
+    private volatile long epoch;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long caughtUpAt;
+    private volatile boolean caughtUp;
+    private Thread thread;
+
+    @Autowired
+    ReplicationFollower(ProductRepository productRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${replication.leader:localhost:9085}") String leader,
+                        @Value("${replication.max-staleness-ms:1000}") long maxStalenessMillis) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        int separator = leader.lastIndexOf(':');
+        this.leaderAddress = new InetSocketAddress(leader.substring(0, separator),
+                Integer.parseInt(leader.substring(separator + 1)));
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        SocketChannel current = channel;
+        if (current != null) {
+            current.close();
+        }
+        thread.interrupt();
+    }
+
+    /**
+     * Returns whether this follower was fully caught up with the leader recently enough to serve reads.
+     */
+    public boolean isWithinStalenessBound() {
+        return caughtUp && System.nanoTime() - caughtUpAt <= maxStalenessNanos;
+    }
+
+    public long stalenessMillis() {
+        return caughtUp ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - caughtUpAt) : -1;
+    }
+
+    long appliedSequence() {
+        return appliedSequence;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    @Override
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", "follower");
+        status.put("leader", leaderAddress.getHostString() + ":" + leaderAddress.getPort());
+        status.put("connected", channel != null);
+        status.put("epoch", epoch);
+        status.put("appliedSequence", appliedSequence);
+        status.put("leaderSequence", leaderSequence);
+        status.put("lagEntries", leaderSequence - appliedSequence);
+        status.put("stalenessMillis", stalenessMillis());
+        return status;
+    }
+
+    private void run() {
+        while (running) {
+            try (SocketChannel connection = SocketChannel.open(leaderAddress)) {
+                channel = connection;
+                ReplicationFrames.writeAck(connection, epoch, appliedSequence);
+                while (running) {
+                    apply(ReplicationFrames.readBatch(connection));
+                    ReplicationFrames.writeAck(connection, epoch, appliedSequence);
+                }
+            } catch (IOException e) {
+                channel = null;
+                pause();
+            }
+        }
+    }
+
+    private void apply(ReplicationFrames.Batch batch) throws IOException {
+        if (batch.epoch != epoch) {
+            // The leader restarted with a new log, so what we applied from the old one may have diverged
+            caughtUp = false;
+            productRepository.clear();
+            appliedSequence = 0;
+            epoch = batch.epoch;
+        }
+        for (ReplicationFrames.Entry entry : batch.entries) {
+            if (entry.sequence > appliedSequence) {
+                productRepository.applyReplicated(objectMapper.readValue(entry.payload, Product.class));
+                appliedSequence = entry.sequence;
+            }
+        }
+        leaderSequence = batch.leaderSequence;
+        if (appliedSequence >= leaderSequence) {
+            caughtUpAt = System.nanoTime();
+            caughtUp = true;
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package au.com.dius.pactworkshop.provider;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format used between the replication leader and its followers.
+ *
+ * <p>The leader sends batches: {@code int frameLength, long epoch, long leaderSequence, int count}
+ * followed by {@code count} entries of {@code long sequence, int length, byte[] json}. Each entry
+ * carries its own sequence because the compacted {@link ReplicationLog} has gaps. A batch with no
+ * entries is a heartbeat. Frames longer than {@link #MAX_FRAME_LENGTH} are rejected before
+ * anything is allocated for them. Followers reply with a 16 byte
+ * acknowledgement holding the epoch they are following and the last sequence number they have
+ * applied. The epoch identifies one run of the leader, whose log starts again from sequence 1
+ * after a restart.
+ */
+final class ReplicationFrames {
+
+    static final int ACK_LENGTH = Long.BYTES * 2;
+    static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+
+    private static final int HEADER_LENGTH = Long.BYTES * 2 + Integer.BYTES;
+    private static final int ENTRY_HEADER_LENGTH = Long.BYTES + Integer.BYTES;
+
+    private ReplicationFrames() {
+    }
+
+    static ByteBuffer encodeBatch(long epoch, long leaderSequence, List<Entry> entries) {
+        int frameLength = HEADER_LENGTH;
+        for (Entry entry : entries) {
+            frameLength += ENTRY_HEADER_LENGTH + entry.payload.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + frameLength);
+        buffer.putInt(frameLength);
+        buffer.putLong(epoch);
+        buffer.putLong(leaderSequence);
+        buffer.putInt(entries.size());
+        for (Entry entry : entries) {
+            buffer.putLong(entry.sequence);
+            buffer.putInt(entry.payload.length);
+            buffer.put(entry.payload);
+        }
+        return buffer.flip();
+    }
+
+    static Batch readBatch(ReadableByteChannel channel) throws IOException {
+        int frameLength = readFully(channel, ByteBuffer.allocate(Integer.BYTES)).getInt();
+        if (frameLength < HEADER_LENGTH || frameLength > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid replication frame length " + frameLength);
+        }
+        ByteBuffer frame = readFully(channel, ByteBuffer.allocate(frameLength));
+        long epoch = frame.getLong();
+        long leaderSequence = frame.getLong();
+        int count = frame.getInt();
+        if (count < 0 || count > frame.remaining() / ENTRY_HEADER_LENGTH) {
+            throw new IOException("Invalid replication entry count " + count);
+        }
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (frame.remaining() < ENTRY_HEADER_LENGTH) {
+                throw new IOException("Truncated replication entry");
+            }
+            long sequence = frame.getLong();
+            int length = frame.getInt();
+            if (length < 0 || length > frame.remaining()) {
+                throw new IOException("Invalid replication entry length " + length);
+            }
+            byte[] payload = new byte[length];
+            frame.get(payload);
+            entries.add(new Entry(sequence, payload));
+        }
+        return new Batch(epoch, leaderSequence, entries);
+    }
+
+    static void writeAck(WritableByteChannel channel, long epoch, long appliedSequence) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ACK_LENGTH).putLong(epoch).putLong(appliedSequence).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Replication channel closed");
+            }
+        }
+        return buffer.flip();
+    }
+
+    static final class Batch {
+        final long epoch;
+        final long leaderSequence;
+        final List<Entry> entries;
+
+        Batch(long epoch, long leaderSequence, List<Entry> entries) {
+            this.epoch = epoch;
+            this.leaderSequence = leaderSequence;
+            this.entries = entries;
+        }
+    }
+
+    static final class Entry {
+        final long sequence;
+        final byte[] payload;
+
+        Entry(long sequence, byte[] payload) {
+            this.sequence = sequence;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the {@link ReplicationLog} to follower providers over TCP. A single selector thread
+ * ships entries in batches, keeps at most {@code replication.max-unacked} entries in flight per
+ * follower, and sends a heartbeat when there is nothing new so followers can bound staleness.
+ *
+ * <p>Each run of the leader picks a new epoch. Followers acknowledging a different epoch are
+ * streamed the log from the start, since the in-memory log does not survive a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "replication.role", havingValue = "leader")
+public class ReplicationLeader implements ReplicationNode {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationLeader.class);
+
+    private final ReplicationLog replicationLog;
+    private final ObjectMapper objectMapper;
+    private final int requestedPort;
+    private final int batchSize;
+    private final int maxUnacked;
+    private final long heartbeatNanos;
+    private final Map<SocketChannel, FollowerState> followers = new ConcurrentHashMap<>();
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile String lastError;
+
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread thread;
+
+    @Autowired
+    ReplicationLeader(ReplicationLog replicationLog,
+                      ObjectMapper objectMapper,
+                      @Value("${replication.port:9085}") int port,
+                      @Value("${replication.batch-size:256}") int batchSize,
+                      @Value("${replication.max-unacked:4096}") int maxUnacked,
+                      @Value("${replication.heartbeat-ms:100}") long heartbeatMillis) {
+        this.replicationLog = replicationLog;
+        this.objectMapper = objectMapper;
+        this.requestedPort = port;
+        this.batchSize = batchSize;
+        this.maxUnacked = maxUnacked;
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatMillis);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        server.bind(new InetSocketAddress(requestedPort));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        thread = new Thread(this::run, "replication-leader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SocketChannel channel : followers.keySet()) {
+            channel.close();
+        }
+        server.close();
+        selector.close();
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    @Override
+    public Map<String, Object> status() {
+        long lastSequence = replicationLog.lastSequence();
+        List<Map<String, Object>> followerStatus = new ArrayList<>();
+        followers.values().forEach(follower -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("address", follower.address);
+            entry.put("ackedSequence", follower.acked);
+            entry.put("lagEntries", lastSequence - follower.acked);
+            followerStatus.add(entry);
+        });
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", "leader");
+        status.put("epoch", epoch);
+        status.put("running", thread.isAlive());
+        status.put("lastSequence", lastSequence);
+        status.put("followers", followerStatus);
+        status.put("errors", errors.get());
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void run() {
+        long timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(heartbeatNanos) / 2);
+        while (running) {
+            try {
+                selector.select(timeoutMillis);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+                long now = System.nanoTime();
+                for (FollowerState follower : followers.values()) {
+                    ship(follower, now);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Keep serving the other followers; the failure is visible in the status
+                recordError("Replication loop failed", e);
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+
+        FollowerState follower = followers.get((SocketChannel) key.channel());
+        if (follower == null) {
+            key.cancel();
+            return;
+        }
+        try {
+            if (key.isReadable()) {
+                readAcks(follower);
+            }
+            if (key.isValid() && key.isWritable()) {
+                flush(follower);
+            }
+        } catch (IOException | RuntimeException e) {
+            recordError("Dropping follower " + follower.address, e);
+            disconnect(follower);
+        }
+    }
+
+    private void accept() {
+        SocketChannel channel = null;
+        try {
+            channel = server.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                SelectionKey followerKey = channel.register(selector, SelectionKey.OP_READ);
+                followers.put(channel, new FollowerState(followerKey,
+                        String.valueOf(channel.getRemoteAddress()), System.nanoTime() - heartbeatNanos));
+            }
+        } catch (IOException | RuntimeException e) {
+            recordError("Failed to accept follower", e);
+            if (channel != null) {
+                followers.remove(channel);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void readAcks(FollowerState follower) throws IOException {
+        if (follower.channel().read(follower.acks) < 0) {
+            disconnect(follower);
+            return;
+        }
+        follower.acks.flip();
+        while (follower.acks.remaining() >= ReplicationFrames.ACK_LENGTH) {
+            long ackedEpoch = follower.acks.getLong();
+            long acked = ackedEpoch == epoch ? follower.acks.getLong() : skip(follower.acks);
+            if (follower.sent < 0) {
+                // The first acknowledgement tells us where the follower wants to resume from.
+                // A follower of an earlier epoch gets the whole log again.
+                follower.sent = acked;
+            }
+            follower.acked = acked;
+        }
+        follower.acks.compact();
+    }
+
+    private void ship(FollowerState follower, long now) {
+        if (follower.sent < 0 || follower.pending != null || !follower.key.isValid()) {
+            return;
+        }
+        boolean heartbeatDue = now - follower.lastSentAt >= heartbeatNanos;
+        int window = (int) Math.min(batchSize, maxUnacked - (follower.sent - follower.acked));
+        long leaderSequence = replicationLog.lastSequence();
+        List<ReplicationLog.Entry> entries = window > 0
+                ? replicationLog.entriesAfter(follower.sent, window)
+                : new ArrayList<>();
+        if (entries.isEmpty() && !heartbeatDue) {
+            return;
+        }
+
+        List<ReplicationFrames.Entry> frameEntries = new ArrayList<>(entries.size());
+        long frameBytes = 0;
+        for (ReplicationLog.Entry entry : entries) {
+            byte[] payload = serialise(entry.getProduct());
+            frameBytes += Long.BYTES + Integer.BYTES + payload.length;
+            if (!frameEntries.isEmpty() && frameBytes > ReplicationFrames.MAX_FRAME_LENGTH / 2) {
+                // Leave the rest for the next batch rather than send a frame the follower would reject
+                break;
+            }
+            frameEntries.add(new ReplicationFrames.Entry(entry.getSequence(), payload));
+        }
+        follower.pending = ReplicationFrames.encodeBatch(epoch, leaderSequence, frameEntries);
+        if (!frameEntries.isEmpty()) {
+            follower.sent = frameEntries.get(frameEntries.size() - 1).sequence;
+        }
+        follower.lastSentAt = now;
+        try {
+            flush(follower);
+        } catch (IOException e) {
+            recordError("Dropping follower " + follower.address, e);
+            disconnect(follower);
+        }
+    }
+
+    private void flush(FollowerState follower) throws IOException {
+        if (follower.pending == null) {
+            return;
+        }
+        follower.channel().write(follower.pending);
+        if (follower.pending.hasRemaining()) {
+            follower.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else {
+            follower.pending = null;
+            follower.key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    private void disconnect(FollowerState follower) {
+        followers.remove(follower.channel());
+        follower.key.cancel();
+        closeQuietly(follower.channel());
+    }
+
+    private void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Already gone, nothing more to clean up
+        }
+    }
+
+    private void recordError(String message, Exception e) {
+        errors.incrementAndGet();
+        lastError = message + ": " + e;
+        LOGGER.warn(message, e);
+    }
+
+    private static long skip(ByteBuffer acks) {
+        acks.getLong();
+        return 0;
+    }
+
+    private byte[] serialise(Product product) {
+        try {
+            return objectMapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class FollowerState {
+        private final SelectionKey key;
+        private final String address;
+        private final ByteBuffer acks = ByteBuffer.allocate(ReplicationFrames.ACK_LENGTH * 64);
+        private ByteBuffer pending;
+        private long lastSentAt;
+        private volatile long sent = -1;
+        private volatile long acked;
+
+        FollowerState(SelectionKey key, String address, long lastSentAt) {
+            this.key = key;
+            this.address = address;
+            this.lastSentAt = lastSentAt;
+        }
+
+        SocketChannel channel() {
+            return (SocketChannel) key.channel();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Ordered log of product mutations made on this node. Every append gets the next sequence number,
+ * which is what followers acknowledge back to the leader.
+ *
+ * <p>The log is compacted to the latest entry per product: an entry is dropped as soon as a later
+ * write to the same product supersedes it. Memory therefore grows with the size of the catalog
+ * rather than the number of writes, and a follower resuming from any sequence still ends up with
+ * the latest version of every product, although sequence numbers in the log are not contiguous.
+ */
+@Component
+public class ReplicationLog {
+
+    private final NavigableMap<Long, Product> entries = new TreeMap<>();
+    private final Map<String, Long> latestSequences = new HashMap<>();
+    private long lastSequence;
+
+    public synchronized long append(Product product) {
+        long sequence = ++lastSequence;
+        Long superseded = latestSequences.put(product.getId(), sequence);
+        if (superseded != null) {
+            entries.remove(superseded);
+        }
+        entries.put(sequence, product);
+        return sequence;
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized List<Entry> entriesAfter(long sequence, int maxEntries) {
+        List<Entry> after = new ArrayList<>();
+        for (Map.Entry<Long, Product> entry : entries.tailMap(sequence, false).entrySet()) {
+            if (after.size() >= maxEntries) {
+                break;
+            }
+            after.add(new Entry(entry.getKey(), entry.getValue()));
+        }
+        return after;
+    }
+
+    public static final class Entry {
+        private final long sequence;
+        private final Product product;
+
+        Entry(long sequence, Product product) {
+            this.sequence = sequence;
+            this.product = product;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Product getProduct() {
+            return product;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package au.com.dius.pactworkshop.provider;
+
+import java.util.Map;
+
+/**
+ * A provider taking part in log-shipping replication, either as the leader or as a follower.
+ */
+public interface ReplicationNode {
+
+    /**
+     * Returns the replication position and lag of this node, for the status endpoint.
+     */
+    Map<String, Object> status();
+}
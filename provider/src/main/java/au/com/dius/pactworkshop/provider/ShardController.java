@@ -0,0 +1,23 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+public class ShardController {
+
+    private final ShardMembership shardMembership;
+
+    @Autowired
+    ShardController(ShardMembership shardMembership) {
+        this.shardMembership = shardMembership;
+    }
+
+    @GetMapping("shard/nodes")
+    public List<String> getNodes() {
+        return shardMembership.nodes();
+    }
+}
@@ -0,0 +1,115 @@
+package au.com.dius.pactworkshop.provider;
+
+import au.com.dius.pactworkshop.shard.ConsistentHashRing;
+import au.com.dius.pactworkshop.shard.NodeProbes;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Knows which product ids this provider node owns. With no {@code shard.nodes} configured the
+ * node owns every product, so a single provider behaves exactly as before.
+ *
+ * <p>The other configured nodes are probed periodically. A peer leaves the ring after
+ * {@code shard.failure-threshold} consecutive failed probes and rejoins as soon as a probe
+ * succeeds. Ownership decides which writes this node accepts and which seed products it
+ * stores; reads are not filtered by it, since consumers probe on their own schedule and may
+ * briefly route an id to a node that has just stopped owning it.
+ */
+@Component
+public class ShardMembership {
+
+    private final String self;
+    private final List<String> configuredNodes;
+    private final ConsistentHashRing ring;
+    private final Predicate<String> probe;
+    private final int failureThreshold;
+    private final long probeIntervalMillis;
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private ScheduledExecutorService prober;
+
+    @Autowired
+    ShardMembership(@Value("${shard.self:}") String self,
+                    @Value("${shard.nodes:}") String nodes,
+                    @Value("${shard.virtual-nodes:100}") int virtualNodes,
+                    @Value("${shard.failure-threshold:3}") int failureThreshold,
+                    @Value("${shard.probe-interval-ms:2000}") long probeIntervalMillis) {
+        this(self, Arrays.asList(StringUtils.tokenizeToStringArray(nodes, ",")), virtualNodes,
+                NodeProbes.tcpProbe(500), failureThreshold, probeIntervalMillis);
+    }
+
+    ShardMembership(String self,
+                    List<String> nodes,
+                    int virtualNodes,
+                    Predicate<String> probe,
+                    int failureThreshold,
+                    long probeIntervalMillis) {
+        this.self = self;
+        this.configuredNodes = nodes;
+        this.ring = new ConsistentHashRing(virtualNodes);
+        this.probe = probe;
+        this.failureThreshold = failureThreshold;
+        this.probeIntervalMillis = probeIntervalMillis;
+        nodes.forEach(node -> failures.put(node, new AtomicInteger()));
+        this.ring.setNodes(nodes);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (configuredNodes.isEmpty() || probeIntervalMillis <= 0) {
+            return;
+        }
+        prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober.scheduleWithFixedDelay(this::probePeers, probeIntervalMillis, probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    public boolean owns(String productId) {
+        return ring.isEmpty() || self.equals(ring.nodeFor(productId));
+    }
+
+    public List<String> nodes() {
+        return ring.nodes();
+    }
+
+    /**
+     * Probes every other configured node, removing peers that keep failing from the ring
+     * and adding back the ones that respond again.
+     */
+    public void probePeers() {
+        for (String node : configuredNodes) {
+            if (node.equals(self)) {
+                continue;
+            }
+            if (probe.test(node)) {
+                failures.get(node).set(0);
+                ring.addNode(node);
+            } else if (failures.get(node).incrementAndGet() >= failureThreshold) {
+                ring.removeNode(node);
+            }
+        }
+    }
+}
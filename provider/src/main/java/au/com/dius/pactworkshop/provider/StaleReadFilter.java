@@ -0,0 +1,42 @@
+package au.com.dius.pactworkshop.provider;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Rejects product reads on a follower whose copy of the catalog is older than the staleness bound,
+ * so clients retry against another replica or the leader instead of reading old data.
+ */
+@Component
+@ConditionalOnProperty(name = "replication.role", havingValue = "follower")
+public class StaleReadFilter implements Filter {
+
+    private final ReplicationFollower replicationFollower;
+
+    @Autowired
+    StaleReadFilter(ReplicationFollower replicationFollower) {
+        this.replicationFollower = replicationFollower;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+        String path = ((HttpServletRequest) request).getRequestURI();
+        if (path.startsWith("/product") && !replicationFollower.isWithinStalenessBound()) {
+            ((HttpServletResponse) response).setHeader("Retry-After", "1");
+            ((HttpServletResponse) response).sendError(503, "Replica is stale");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
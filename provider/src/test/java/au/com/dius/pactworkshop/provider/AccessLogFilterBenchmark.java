@@ -0,0 +1,55 @@
+package au.com.dius.pactworkshop.provider;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures what {@link AccessLogFilter} adds to a request. Wall-clock results depend on the
+ * machine, so this is tagged {@code benchmark} and only runs through {@code ./gradlew provider:benchmark}.
+ */
+@Tag("benchmark")
+class AccessLogFilterBenchmark {
+
+    private static final int WARMUP_REQUESTS = 1_000_000;
+    private static final int MEASURED_REQUESTS = 5_000_000;
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void filterAddsLessThanAMicrosecondPerRequest() throws Exception {
+        AccessLogWriter writer = new AccessLogWriter(logDirectory.resolve("access.log").toString(),
+                1 << 16, 64 * 1024 * 1024, 2, 512);
+        writer.start();
+        AccessLogFilter filter = new AccessLogFilter(writer);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product/10");
+        request.setAttribute(AuthFilter.AUTH_OUTCOME, "ok");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> { };
+
+        try {
+            for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                filter.doFilter(request, response, chain);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_REQUESTS; i++) {
+                filter.doFilter(request, response, chain);
+            }
+            long nanosPerRequest = (System.nanoTime() - start) / MEASURED_REQUESTS;
+
+            System.out.printf("AccessLogFilter: %dns per request, %d written, %d dropped%n",
+                    nanosPerRequest, writer.written(), writer.dropped());
+            assertTrue(nanosPerRequest < 1000, "AccessLogFilter took " + nanosPerRequest + "ns per request");
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package au.com.dius.pactworkshop.provider;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccessLogTest {
+
+    @TempDir
+    Path logDirectory;
+
+    @Test
+    void ringBufferDrainsRecordsInOrderAndDropsWhenFull() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ringBuffer.offer(record("/product/" + i)));
+        }
+        assertFalse(ringBuffer.offer(record("/product/4")));
+        assertEquals(1, ringBuffer.dropped());
+
+        List<String> paths = new ArrayList<>();
+        assertEquals(4, ringBuffer.drain(record -> paths.add(record.getPath()), 10));
+
+        assertEquals(List.of("/product/0", "/product/1", "/product/2", "/product/3"), paths);
+        assertTrue(ringBuffer.offer(record("/product/5")));
+    }
+
+    @Test
+    void writerRotatesFilesOnceTheyReachTheSizeLimit() throws Exception {
+        Path file = logDirectory.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(file.toString(), 1024, 500, 2, 4);
+        writer.start();
+        for (int i = 0; i < 40; i++) {
+            assertTrue(writer.log(record("/product/" + i)));
+        }
+        writer.close();
+
+        assertEquals(40, writer.written());
+        assertTrue(Files.exists(logDirectory.resolve("access.log.1")));
+        assertTrue(Files.exists(logDirectory.resolve("access.log.2")));
+        assertFalse(Files.exists(logDirectory.resolve("access.log.3")));
+        String latest = Files.readString(file) + Files.readString(logDirectory.resolve("access.log.1"));
+        assertTrue(latest.contains("GET /product/39 39 200 1us auth=ok"));
+    }
+
+    @Test
+    void writerKeepsWritingWhenTheFileCannotBeRotated() throws Exception {
+        Path file = logDirectory.resolve("access.log");
+        // A non-empty directory where the rotated file should go makes every rotation fail
+        Files.createDirectories(logDirectory.resolve("access.log.1"));
+        Files.writeString(logDirectory.resolve("access.log.1").resolve("blocker"), "x");
+        AccessLogWriter writer = new AccessLogWriter(file.toString(), 1024, 500, 1, 4);
+        writer.start();
+        for (int i = 0; i < 40; i++) {
+            assertTrue(writer.log(record("/product/" + i)));
+        }
+        writer.close();
+
+        assertEquals(40, writer.written());
+        assertTrue(writer.errors() > 0);
+        assertTrue(writer.lastError().contains("access.log"));
+        assertTrue(Files.readString(file).contains("GET /product/39 39 200 1us auth=ok"));
+    }
+
+    @Test
+    void filterLogsTheRequestOnceTheChainHasCompleted() throws Exception {
+        Path file = logDirectory.resolve("access.log");
+        AccessLogWriter writer = new AccessLogWriter(file.toString(), 1024, 10_000, 2, 4);
+        writer.start();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product/10");
+        request.setAttribute(AuthFilter.AUTH_OUTCOME, "invalid");
+
+        new AccessLogFilter(writer).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> ((HttpServletResponse) res).setStatus(401));
+        writer.close();
+
+        assertEquals(1, writer.written());
+        assertTrue(Files.readString(file).contains("127.0.0.1 GET /product/10 10 401 "));
+        assertTrue(Files.readString(file).endsWith("auth=invalid\n"));
+    }
+
+    private static AccessLogRecord record(String path) {
+        return new AccessLogRecord(System.currentTimeMillis(), "127.0.0.1", "GET", path, 200, 1000, "ok");
+    }
+}
@@ -0,0 +1,125 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductResponseCacheTest {
+
+    private static final Product PRODUCT = new Product("10", "CREDIT_CARD", "28 Degrees", "v1");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void concurrentLookupsForTheSameIdShareOneRepositoryCall() throws Exception {
+        CountDownLatch joined = new CountDownLatch(7);
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 0, 16, Long.MAX_VALUE,
+                new SingleFlight<>(key -> joined.countDown()));
+        AtomicInteger lookups = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<byte[]>>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> executor.submit(() -> cache.get("10", () -> {
+                        lookups.incrementAndGet();
+                        await(joined);
+                        return Optional.of(PRODUCT);
+                    })))
+                    .collect(Collectors.toList());
+
+            for (Future<Optional<byte[]>> result : results) {
+                assertArrayEquals(objectMapper.writeValueAsBytes(PRODUCT), result.get(5, TimeUnit.SECONDS).orElseThrow());
+            }
+            assertEquals(1, lookups.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void hotProductsAreServedFromTheCache() {
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 60_000, 16, 2);
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 5; i++) {
+            cache.get("10", () -> {
+                lookups.incrementAndGet();
+                return Optional.of(PRODUCT);
+            });
+        }
+
+        assertEquals(2, lookups.get());
+        assertTrue(cache.hotProducts().containsKey("10"));
+    }
+
+    @Test
+    void missingProductsAreNotCached() {
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 60_000, 16, 1);
+        AtomicInteger lookups = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(cache.get("11", () -> {
+                lookups.incrementAndGet();
+                return Optional.empty();
+            }).isPresent());
+        }
+
+        assertEquals(3, lookups.get());
+    }
+
+    @Test
+    void loadsThatRaceWithAnUpdateAreNotCached() throws Exception {
+        Product updated = new Product("10", "CREDIT_CARD", "28 Degrees", "v2");
+        AtomicReference<Product> stored = new AtomicReference<>(PRODUCT);
+        ProductResponseCache cache = new ProductResponseCache(objectMapper, 60_000, 16, 1);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch saved = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<byte[]>> racingRead = executor.submit(() -> cache.get("10", () -> {
+                Product product = stored.get();
+                loading.countDown();
+                await(saved);
+                return Optional.of(product);
+            }));
+            await(loading);
+            stored.set(updated);
+            cache.invalidate("10");
+
+            // A read after the update must not join the load that started before it
+            assertArrayEquals(objectMapper.writeValueAsBytes(updated),
+                    cache.get("10", () -> Optional.of(stored.get())).orElseThrow());
+            saved.countDown();
+            assertArrayEquals(objectMapper.writeValueAsBytes(PRODUCT), racingRead.get(5, TimeUnit.SECONDS).orElseThrow());
+
+            assertArrayEquals(objectMapper.writeValueAsBytes(updated), cache.get("10", () -> {
+                throw new AssertionError("Expected the updated product to be served from the cache");
+            }).orElseThrow());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
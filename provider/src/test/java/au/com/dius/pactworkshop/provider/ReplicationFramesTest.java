@@ -0,0 +1,63 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationFramesTest {
+
+    @Test
+    void batchesKeepEachEntrysSequence() throws Exception {
+        ByteBuffer frame = ReplicationFrames.encodeBatch(7, 12, List.of(
+                new ReplicationFrames.Entry(3, bytes("first")),
+                new ReplicationFrames.Entry(12, bytes("second"))));
+
+        ReplicationFrames.Batch batch = ReplicationFrames.readBatch(channel(frame));
+
+        assertEquals(7, batch.epoch);
+        assertEquals(12, batch.leaderSequence);
+        assertEquals(2, batch.entries.size());
+        assertEquals(3, batch.entries.get(0).sequence);
+        assertEquals(12, batch.entries.get(1).sequence);
+        assertArrayEquals(bytes("second"), batch.entries.get(1).payload);
+    }
+
+    @Test
+    void framesWithAnInvalidLengthAreRejectedBeforeAllocating() {
+        for (int frameLength : new int[]{-1, 0, ReplicationFrames.MAX_FRAME_LENGTH + 1, Integer.MAX_VALUE}) {
+            IOException e = assertThrows(IOException.class,
+                    () -> ReplicationFrames.readBatch(channel(ByteBuffer.allocate(Integer.BYTES).putInt(frameLength).flip())));
+            assertTrue(e.getMessage().contains("frame length"));
+        }
+    }
+
+    @Test
+    void entriesLongerThanTheirFrameAreRejected() {
+        ByteBuffer frame = ReplicationFrames.encodeBatch(7, 1, List.of(new ReplicationFrames.Entry(1, bytes("entry"))));
+        // Overwrite the entry length, which follows the frame length, header and entry sequence
+        frame.putInt(Integer.BYTES + Long.BYTES * 2 + Integer.BYTES + Long.BYTES, 1_000);
+
+        assertThrows(IOException.class, () -> ReplicationFrames.readBatch(channel(frame)));
+    }
+
+    private static ReadableByteChannel channel(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
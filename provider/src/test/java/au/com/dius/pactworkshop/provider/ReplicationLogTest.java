@@ -0,0 +1,44 @@
+package au.com.dius.pactworkshop.provider;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicationLogTest {
+
+    private final ReplicationLog replicationLog = new ReplicationLog();
+
+    @Test
+    void logKeepsOnlyTheLatestEntryPerProduct() {
+        for (int version = 1; version <= 100; version++) {
+            replicationLog.append(new Product("10", "CREDIT_CARD", "28 Degrees", "v" + version));
+        }
+        replicationLog.append(new Product("11", "PERSONAL_LOAN", "MyFlexiPay", "v1"));
+
+        assertEquals(101, replicationLog.lastSequence());
+        assertEquals(2, replicationLog.size());
+        List<ReplicationLog.Entry> entries = replicationLog.entriesAfter(0, 10);
+        assertEquals(List.of(100L, 101L), sequences(entries));
+        assertEquals("v100", entries.get(0).getProduct().getVersion());
+    }
+
+    @Test
+    void followersResumingMidLogReceiveTheLatestVersionOfLaterWrites() {
+        replicationLog.append(new Product("10", "CREDIT_CARD", "28 Degrees", "v1"));
+        replicationLog.append(new Product("11", "PERSONAL_LOAN", "MyFlexiPay", "v1"));
+        replicationLog.append(new Product("09", "CREDIT_CARD", "Gem Visa", "v1"));
+        replicationLog.append(new Product("10", "CREDIT_CARD", "28 Degrees", "v2"));
+
+        assertEquals(List.of(2L, 3L, 4L), sequences(replicationLog.entriesAfter(0, 10)));
+        assertEquals(List.of(3L, 4L), sequences(replicationLog.entriesAfter(2, 10)));
+        assertEquals(List.of(2L), sequences(replicationLog.entriesAfter(0, 1)));
+        assertEquals(List.of(), sequences(replicationLog.entriesAfter(4, 10)));
+    }
+
+    private static List<Long> sequences(List<ReplicationLog.Entry> entries) {
+        return entries.stream().map(ReplicationLog.Entry::getSequence).collect(Collectors.toList());
+    }
+}
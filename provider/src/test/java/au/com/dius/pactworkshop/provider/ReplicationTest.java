@@ -0,0 +1,118 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductRepository leaderRepository;
+    private ProductRepository followerRepository;
+    private ProductResponseCache followerCache;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReplicationLog replicationLog = new ReplicationLog();
+        leaderRepository = repository(replicationLog, responseCache());
+        leader = new ReplicationLeader(replicationLog, objectMapper, 0, 2, 16, 20);
+        leader.start();
+
+        followerCache = responseCache();
+        followerRepository = repository(new ReplicationLog(), followerCache);
+        follower = new ReplicationFollower(followerRepository, objectMapper, "localhost:" + leader.port(), 1000);
+        assertFalse(follower.isWithinStalenessBound());
+        follower.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        follower.close();
+        leader.close();
+    }
+
+    @Test
+    void followerAppliesTheLeadersMutationLog() {
+        for (int i = 0; i < 5; i++) {
+            leaderRepository.save(new Product("2" + i, "CREDIT_CARD", "Card " + i, "v1"));
+        }
+        leaderRepository.save(new Product("10", "CREDIT_CARD", "28 Degrees", "v2"));
+
+        awaitTrue(() -> follower.appliedSequence() == 6);
+
+        assertEquals(Optional.of(new Product("24", "CREDIT_CARD", "Card 4", "v1")), followerRepository.getById("24"));
+        assertEquals(Optional.of(new Product("10", "CREDIT_CARD", "28 Degrees", "v2")), followerRepository.getById("10"));
+        awaitTrue(follower::isWithinStalenessBound);
+        assertEquals(0L, follower.status().get("lagEntries"));
+    }
+
+    @Test
+    void followerResyncsWhenTheLeaderRestartsWithANewLog() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            leaderRepository.save(new Product("2" + i, "CREDIT_CARD", "Card " + i, "v1"));
+        }
+        awaitTrue(() -> follower.appliedSequence() == 6);
+        assertTrue(followerCache.get("25", () -> followerRepository.getById("25")).isPresent());
+        long firstEpoch = follower.epoch();
+
+        int port = leader.port();
+        leader.close();
+        ReplicationLog restartedLog = new ReplicationLog();
+        leaderRepository = repository(restartedLog, responseCache());
+        leader = new ReplicationLeader(restartedLog, objectMapper, port, 2, 16, 20);
+        leader.start();
+        leaderRepository.save(new Product("30", "CREDIT_CARD", "Card 30", "v1"));
+        leaderRepository.save(new Product("31", "CREDIT_CARD", "Card 31", "v1"));
+
+        awaitTrue(() -> follower.epoch() != firstEpoch && follower.appliedSequence() == 2);
+
+        assertEquals(Optional.of(new Product("31", "CREDIT_CARD", "Card 31", "v1")), followerRepository.getById("31"));
+        assertEquals(Optional.empty(), followerRepository.getById("25"));
+        assertEquals(Optional.empty(), followerCache.get("25", () -> followerRepository.getById("25")));
+        awaitTrue(follower::isWithinStalenessBound);
+    }
+
+    @Test
+    void replicatedUpdatesReplaceCachedResponsesOnTheFollower() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(objectMapper.writeValueAsString(new Product("10", "CREDIT_CARD", "28 Degrees", "v1")),
+                    new String(followerCache.get("10", () -> followerRepository.getById("10")).orElseThrow()));
+        }
+        assertTrue(followerCache.hotProducts().containsKey("10"));
+
+        leaderRepository.save(new Product("10", "CREDIT_CARD", "28 Degrees", "v2"));
+        awaitTrue(() -> follower.appliedSequence() == 1);
+
+        assertEquals(objectMapper.writeValueAsString(new Product("10", "CREDIT_CARD", "28 Degrees", "v2")),
+                new String(followerCache.get("10", () -> followerRepository.getById("10")).orElseThrow()));
+    }
+
+    private ProductResponseCache responseCache() {
+        return new ProductResponseCache(objectMapper, 60_000, 16, 1);
+    }
+
+    private static ProductRepository repository(ReplicationLog replicationLog, ProductResponseCache productResponseCache) {
+        return new ProductRepository(new ShardMembership("", "", 100, 3, 0), replicationLog, productResponseCache);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for replication");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+}
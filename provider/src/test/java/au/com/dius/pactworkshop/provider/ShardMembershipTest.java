@@ -0,0 +1,103 @@
+package au.com.dius.pactworkshop.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardMembershipTest {
+
+    private static final List<String> NODES = Arrays.asList("localhost:8085", "localhost:8086", "localhost:8087");
+
+    private final Set<String> unreachable = new HashSet<>();
+
+    @Test
+    void withNoNodesConfiguredEveryProductIsOwned() {
+        ShardMembership membership = membership("localhost:8085", List.of());
+
+        assertTrue(membership.owns("09"));
+        assertTrue(membership.owns("10"));
+    }
+
+    @Test
+    void eachProductIsOwnedByExactlyOneNode() {
+        List<ShardMembership> memberships = NODES.stream()
+                .map(node -> membership(node, NODES))
+                .collect(Collectors.toList());
+
+        for (String id : Arrays.asList("09", "10", "11", "50", "100")) {
+            assertEquals(1, memberships.stream().filter(membership -> membership.owns(id)).count(), id);
+        }
+        assertTrue(memberships.get(1).owns("10"));
+    }
+
+    @Test
+    void peersLeaveAfterRepeatedFailedProbesAndRejoinWhenTheyRecover() {
+        ShardMembership membership = membership("localhost:8087", NODES);
+        assertFalse(membership.owns("10"));
+
+        unreachable.add("localhost:8086");
+        membership.probePeers();
+        membership.probePeers();
+        assertFalse(membership.owns("10"));
+        membership.probePeers();
+        assertTrue(membership.owns("10"));
+        assertEquals(Arrays.asList("localhost:8085", "localhost:8087"), membership.nodes());
+
+        unreachable.remove("localhost:8086");
+        membership.probePeers();
+        assertFalse(membership.owns("10"));
+        assertEquals(3, membership.nodes().size());
+    }
+
+    @Test
+    void repositoryOnlySeedsOwnedProducts() {
+        ProductRepository repository = repository(membership("localhost:8086", NODES));
+
+        assertEquals(Optional.of(new Product("10", "CREDIT_CARD", "28 Degrees", "v1")), repository.getById("10"));
+        assertEquals(Optional.empty(), repository.getById("09"));
+        assertEquals(List.of("10"), repository.fetchAll().stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void productsStayReadableOnANodeThatNoLongerOwnsThem() {
+        ShardMembership membership = membership("localhost:8086", NODES);
+        ProductRepository repository = repository(membership);
+        unreachable.add("localhost:8087");
+        for (int i = 0; i < 3; i++) {
+            membership.probePeers();
+        }
+        List<String> written = IntStream.range(0, 100).mapToObj(String::valueOf)
+                .filter(repository::owns)
+                .collect(Collectors.toList());
+        written.forEach(id -> repository.save(new Product(id, "CREDIT_CARD", "Card " + id, "v1")));
+
+        unreachable.clear();
+        membership.probePeers();
+        List<String> moved = written.stream().filter(id -> !repository.owns(id)).collect(Collectors.toList());
+
+        assertFalse(moved.isEmpty());
+        for (String id : moved) {
+            assertEquals(Optional.of(new Product(id, "CREDIT_CARD", "Card " + id, "v1")), repository.getById(id));
+        }
+    }
+
+    private static ProductRepository repository(ShardMembership membership) {
+        return new ProductRepository(membership, new ReplicationLog(),
+                new ProductResponseCache(new ObjectMapper(), 1000, 16, 2));
+    }
+
+    private ShardMembership membership(String self, List<String> nodes) {
+        return new ShardMembership(self, nodes, 100, node -> !unreachable.contains(node), 3, 0);
+    }
+}
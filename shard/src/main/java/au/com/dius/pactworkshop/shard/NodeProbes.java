@@ -0,0 +1,31 @@
+package au.com.dius.pactworkshop.shard;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.function.Predicate;
+
+/**
+ * Health checks for {@code host:port} shard nodes, shared by the consumer and the providers.
+ */
+public final class NodeProbes {
+
+    private NodeProbes() {
+    }
+
+    /**
+     * Probes a node by opening a TCP connection to it.
+     */
+    public static Predicate<String> tcpProbe(int timeoutMillis) {
+        return node -> {
+            int separator = node.lastIndexOf(':');
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(node.substring(0, separator),
+                        Integer.parseInt(node.substring(separator + 1))), timeoutMillis);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package au.com.dius.pactworkshop.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Consumers route requests and providers decide ownership with this ring, so these fixed vectors
+ * pin down the hashing that both sides rely on.
+ */
+class ConsistentHashRingTest {
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(100);
+
+    @BeforeEach
+    void setUp() {
+        ring.setNodes(Arrays.asList("localhost:8085", "localhost:8086", "localhost:8087"));
+    }
+
+    @Test
+    void knownKeysMapToKnownNodes() {
+        assertEquals("localhost:8085", ring.nodeFor("09"));
+        assertEquals("localhost:8086", ring.nodeFor("10"));
+        assertEquals("localhost:8087", ring.nodeFor("11"));
+        assertEquals("localhost:8086", ring.nodeFor("50"));
+        assertEquals("localhost:8086", ring.nodeFor("100"));
+        assertEquals("localhost:8085", ring.nodeFor("product-1"));
+    }
+
+    @Test
+    void removingANodeOnlyMovesItsOwnKeys() {
+        ring.removeNode("localhost:8086");
+
+        assertEquals("localhost:8085", ring.nodeFor("09"));
+        assertEquals("localhost:8087", ring.nodeFor("10"));
+        assertEquals("localhost:8087", ring.nodeFor("11"));
+        assertEquals("localhost:8087", ring.nodeFor("50"));
+        assertEquals("localhost:8087", ring.nodeFor("100"));
+        assertEquals("localhost:8085", ring.nodeFor("product-1"));
+    }
+}